@@ -0,0 +1,95 @@
+#!/usr/bin/env bash
+#
+# Measures time to first prompt and resident memory of every startup variant that has been built:
+#
+#   ./mvnw -DskipTests package               -> jvm
+#   ./mvnw -DskipTests -Paot package         -> aot
+#   ./mvnw -DskipTests -Pcds package         -> cds (AOT + CDS archive)
+#   ./mvnw -DskipTests -Pnative native:compile -> native
+#
+# Usage: scripts/startup-benchmark.sh [runs]   (default: 5 runs per variant)
+#
+# Each run starts the interactive explorer, waits for the menu prompt, samples RSS, then answers "0" to exit.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+TARGET="$(cd "$(dirname "$0")/.." && pwd)/target"
+JAR="$(ls "$TARGET"/fipe-price-explorer-*.jar 2>/dev/null | grep -v '\.original$' | head -n 1 || true)"
+NATIVE="$TARGET/fipe-price-explorer"
+CDS_DIR="$TARGET/cds"
+PROMPT="Choose an option and press ENTER"
+
+# Keep the explorer offline-friendly and quiet: no brand warm-up traffic, no Spring banner.
+APP_ARGS=(--fipe.prefetch.enabled=false --spring.main.banner-mode=off)
+
+now_ms() {
+    date +%s%3N
+}
+
+measure() {
+    local started elapsed rss chunk
+
+    started=$(now_ms)
+    coproc APP { exec "$@" "${APP_ARGS[@]}" 2>&1; }
+    local pid=$APP_PID
+
+    elapsed=""
+    while IFS= read -r -d ':' chunk <&"${APP[0]}"; do
+        if [[ "$chunk" == *"$PROMPT"* ]]; then
+            elapsed=$(( $(now_ms) - started ))
+            break
+        fi
+    done
+
+    rss=$(ps -o rss= -p "$pid" 2>/dev/null | tr -d ' ' || echo 0)
+    echo 0 >&"${APP[1]}" || true
+    wait "$pid" 2>/dev/null || true
+
+    if [[ -z "$elapsed" ]]; then
+        echo "failed"
+    else
+        echo "$elapsed ${rss:-0}"
+    fi
+}
+
+run_variant() {
+    local name=$1
+    shift
+    local total_ms=0 total_rss=0 ok=0 result
+
+    for ((i = 0; i < RUNS; i++)); do
+        result=$(measure "$@")
+        if [[ "$result" == "failed" ]]; then
+            echo "⚠️ $name: run $((i + 1)) never reached the menu prompt" >&2
+            continue
+        fi
+        read -r ms rss <<< "$result"
+        total_ms=$((total_ms + ms))
+        total_rss=$((total_rss + rss))
+        ok=$((ok + 1))
+    done
+
+    if ((ok > 0)); then
+        printf "| %-8s | %10d | %10d |\n" "$name" $((total_ms / ok)) $((total_rss / ok / 1024))
+    fi
+}
+
+printf "| %-8s | %10s | %10s |\n" "variant" "prompt ms" "RSS MiB"
+printf "|----------|------------|------------|\n"
+
+if [[ -n "$JAR" ]]; then
+    run_variant jvm java -jar "$JAR"
+    if unzip -l "$JAR" 2>/dev/null | grep -q '__ApplicationContextInitializer'; then
+        run_variant aot java -Dspring.aot.enabled=true -jar "$JAR"
+    fi
+fi
+
+if [[ -n "$JAR" && -f "$CDS_DIR/application.jsa" ]]; then
+    run_variant cds java -XX:SharedArchiveFile="$CDS_DIR/application.jsa" -Dspring.aot.enabled=true \
+        -jar "$CDS_DIR/$(basename "$JAR")"
+fi
+
+if [[ -x "$NATIVE" ]]; then
+    run_variant native "$NATIVE"
+fi
@@ -0,0 +1,102 @@
+package br.com.fipe.fipepriceexplorer.benchmark;
+
+import br.com.fipe.fipepriceexplorer.analytics.GroupBy;
+import br.com.fipe.fipepriceexplorer.analytics.GroupStats;
+import br.com.fipe.fipepriceexplorer.analytics.PriceAnalyticsEngine;
+import br.com.fipe.fipepriceexplorer.analytics.PriceColumns;
+import br.com.fipe.fipepriceexplorer.analytics.RankedVehicle;
+import br.com.fipe.fipepriceexplorer.analytics.RowFilter;
+import br.com.fipe.fipepriceexplorer.crawler.CatalogPriceRecord;
+import br.com.fipe.fipepriceexplorer.snapshot.PriceSnapshot;
+import br.com.fipe.fipepriceexplorer.snapshot.PriceSnapshotWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/** Percentile and top-N reports over a synthetic 300k-row snapshot, on one worker and on every core. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsBenchmark {
+
+    private static final String[] FUELS = {"Gasolina", "Álcool", "Diesel"};
+    private static final int ROWS = 300_000;
+
+    @Param({"1", "0"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private PriceAnalyticsEngine engine;
+    private RowFilter diesel;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path dir = Files.createTempDirectory("fipe-analytics");
+        Path catalog = dir.resolve("catalog.jsonl");
+        Path snapshotFile = dir.resolve("catalog.snapshot");
+
+        JsonMapper jsonMapper = Fixtures.jsonMapper();
+        SplittableRandom random = new SplittableRandom(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(catalog, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < ROWS; i++) {
+                int brand = 1 + random.nextInt(90);
+                int model = brand * 10_000 + random.nextInt(400);
+                int year = random.nextInt(25) == 0 ? PriceColumns.ZERO_KM_YEAR : 2000 + random.nextInt(25);
+                int fuel = random.nextInt(FUELS.length);
+                writer.write(jsonMapper.writeValueAsString(new CatalogPriceRecord(
+                        Integer.toString(brand), "BRAND " + brand,
+                        Integer.toString(model), "MODEL " + model,
+                        year + "-" + (fuel + 1), year + " " + FUELS[fuel],
+                        year, FUELS[fuel], 1_000_000L + random.nextLong(50_000_000L), "outubro de 2026")));
+                writer.newLine();
+            }
+        }
+        new PriceSnapshotWriter(jsonMapper).writeFromCatalog(catalog, snapshotFile);
+
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        try (PriceSnapshot snapshot = PriceSnapshot.open(snapshotFile)) {
+            PriceColumns columns = PriceColumns.load(snapshot, pool);
+            engine = new PriceAnalyticsEngine(columns, pool);
+            diesel = new RowFilter(-1, columns.findFuelId("Diesel"), -1, -1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public List<GroupStats> medianByBrandAndYear() {
+        return engine.summarize(GroupBy.BRAND_YEAR, RowFilter.ALL, 5);
+    }
+
+    @Benchmark
+    public List<RankedVehicle> cheapestDieselPerYearBand() {
+        return engine.topN(GroupBy.YEAR_BAND, diesel, 5, 10, true);
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.fipe.fipepriceexplorer.benchmark;
+
+import br.com.fipe.fipepriceexplorer.catalog.CatalogGraph;
+import br.com.fipe.fipepriceexplorer.crawler.CatalogPriceRecord;
+import br.com.fipe.fipepriceexplorer.dto.FipeModelDTO;
+import br.com.fipe.fipepriceexplorer.dto.FipeYearDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Graph lookup against the linear scan over decoded DTO lists it replaces. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogGraphBenchmark {
+
+    private static final String[] FUELS = {"Gasolina", "Álcool", "Diesel"};
+
+    @Param({"100", "1000"})
+    public int modelsPerBrand;
+
+    private CatalogGraph graph;
+    private List<FipeModelDTO> modelList;
+    private List<List<FipeYearDTO>> yearLists;
+    private String brandCode;
+    private String modelCode;
+
+    @Setup
+    public void setUp() {
+        CatalogGraph.Builder builder = CatalogGraph.builder();
+        modelList = new ArrayList<>();
+        yearLists = new ArrayList<>();
+
+        for (int brand = 1; brand <= 90; brand++) {
+            for (int model = 0; model < modelsPerBrand; model++) {
+                int modelCode = brand * 10_000 + model;
+                List<FipeYearDTO> years = new ArrayList<>();
+                for (int year = 2005; year <= 2024; year++) {
+                    int fuel = 1 + (model + year) % FUELS.length;
+                    String yearCode = year + "-" + fuel;
+                    String yearName = year + " " + FUELS[fuel - 1];
+                    builder.add(new CatalogPriceRecord(
+                            Integer.toString(brand), "BRAND " + brand,
+                            Integer.toString(modelCode), "MODEL " + modelCode + " 1.0 Flex",
+                            yearCode, yearName, year, FUELS[fuel - 1], 5_000_000L, "outubro de 2026"));
+                    if (brand == 45) {
+                        years.add(new FipeYearDTO(yearCode, yearName));
+                    }
+                }
+                if (brand == 45) {
+                    modelList.add(new FipeModelDTO(Integer.toString(modelCode), "MODEL " + modelCode + " 1.0 Flex"));
+                    yearLists.add(years);
+                }
+            }
+        }
+
+        graph = builder.build();
+        brandCode = "45";
+        modelCode = Integer.toString(45 * 10_000 + modelsPerBrand - 1);
+    }
+
+    @Benchmark
+    public List<FipeYearDTO> graphLookup() {
+        return graph.years(brandCode, modelCode);
+    }
+
+    @Benchmark
+    public List<FipeYearDTO> linearScan() {
+        for (int i = 0; i < modelList.size(); i++) {
+            if (modelList.get(i).getCode().equals(modelCode)) {
+                return yearLists.get(i);
+            }
+        }
+        return List.of();
+    }
+
+    @Benchmark
+    public boolean graphContains() {
+        return graph.containsModel(brandCode, modelCode);
+    }
+}
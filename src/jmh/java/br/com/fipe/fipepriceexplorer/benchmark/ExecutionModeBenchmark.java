@@ -0,0 +1,126 @@
+package br.com.fipe.fipepriceexplorer.benchmark;
+
+import br.com.fipe.fipepriceexplorer.batch.BatchPricer;
+import br.com.fipe.fipepriceexplorer.batch.BatchSummary;
+import br.com.fipe.fipepriceexplorer.cache.TieredResponseCache;
+import br.com.fipe.fipepriceexplorer.catalog.OfflineCatalog;
+import br.com.fipe.fipepriceexplorer.client.FipeClient;
+import br.com.fipe.fipepriceexplorer.client.PriceWarmCache;
+import br.com.fipe.fipepriceexplorer.client.SingleFlight;
+import br.com.fipe.fipepriceexplorer.config.HttpTransportProperties;
+import br.com.fipe.fipepriceexplorer.config.WebClientConfig;
+import br.com.fipe.fipepriceexplorer.execution.StructuredExecutor;
+import br.com.fipe.fipepriceexplorer.metrics.FipeMetrics;
+import br.com.fipe.fipepriceexplorer.replay.ReplayStubServer;
+import br.com.fipe.fipepriceexplorer.service.FipeService;
+import br.com.fipe.fipepriceexplorer.service.YearPriceResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/** Reactive pipelines against blocking lookups on virtual and platform threads. */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    @Param({"reactive", "virtual", "platform"})
+    public String executionMode;
+
+    @Param({"8", "256"})
+    public int concurrency;
+
+    @Param({"1000"})
+    public int batchRows;
+
+    @Param({"50"})
+    public int latencyMillis;
+
+    private Path recordings;
+    private ReplayStubServer stub;
+    private FipeService fipeService;
+    private BatchPricer batchPricer;
+    private Path batchInput;
+    private Path batchOutput;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        recordings = Recordings.createDirectory();
+        Recordings.recordBrand(recordings, "59");
+        Recordings.recordModel(recordings, "59", "5001");
+        for (int i = 0; i < batchRows; i++) {
+            Recordings.recordPrice(recordings, "59", String.valueOf(5000 + i), "2014-1");
+        }
+        stub = Recordings.serve(recordings, Duration.ofMillis(latencyMillis));
+
+        FipeMetrics metrics = new FipeMetrics(new SimpleMeterRegistry());
+        TieredResponseCache cache = new TieredResponseCache(
+                Fixtures.jsonMapper(), false, Duration.ofHours(1), DataSize.ofMegabytes(16), "");
+        HttpTransportProperties http = HttpTransportProperties.defaults();
+        FipeClient fipeClient = new FipeClient(
+                WebClientConfig.createWebClient(stub.baseUrl(), http),
+                cache,
+                new SingleFlight(),
+                metrics,
+                new PriceWarmCache(0, Duration.ZERO));
+        StructuredExecutor executor = new StructuredExecutor(executionMode);
+
+        fipeService = new FipeService(
+                fipeClient, metrics, executor, OfflineCatalog.disabled(), concurrency, Duration.ofSeconds(30));
+        batchPricer = new BatchPricer(fipeService, Fixtures.jsonMapper(), executor, concurrency, 1);
+
+        StringBuilder csv = new StringBuilder("brandCode,modelCode,yearCode\n");
+        for (int i = 0; i < batchRows; i++) {
+            csv.append("59,").append(5000 + i).append(",2014-1\n");
+        }
+        batchInput = Files.createTempFile("fipe-batch-", ".csv");
+        batchOutput = Files.createTempFile("fipe-batch-", "-prices.csv");
+        Files.writeString(batchInput, csv);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stub.close();
+        Recordings.delete(recordings);
+        try {
+            Files.deleteIfExists(batchInput);
+            Files.deleteIfExists(batchOutput);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Benchmark
+    public List<YearPriceResult> priceFanOut() {
+        return fipeService.listPriceResultsForAllYears("59", "5001", Optional.empty());
+    }
+
+    @Benchmark
+    public BatchSummary batch() {
+        return batchPricer.price(batchInput, batchOutput, written -> {});
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.fipe.fipepriceexplorer.benchmark;
+
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+final class Fixtures {
+
+    static final String BRANDS = "brands.json";
+    static final String MODELS = "models.json";
+    static final String YEARS = "years.json";
+    static final String BRAND_YEARS = "brand-years.json";
+    static final String PRICE = "price.json";
+
+    private Fixtures() {}
+
+    static JsonMapper jsonMapper() {
+        return JsonMapper.builder().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).build();
+    }
+
+    static JavaType listOf(JsonMapper mapper, Class<?> elementType) {
+        return mapper.getTypeFactory().constructCollectionType(List.class, elementType);
+    }
+
+    static byte[] load(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing benchmark fixture " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
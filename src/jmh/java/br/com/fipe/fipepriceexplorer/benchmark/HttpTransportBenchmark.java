@@ -0,0 +1,83 @@
+package br.com.fipe.fipepriceexplorer.benchmark;
+
+import br.com.fipe.fipepriceexplorer.config.HttpTransportProperties;
+import br.com.fipe.fipepriceexplorer.config.WebClientConfig;
+import br.com.fipe.fipepriceexplorer.dto.FipeModelDTO;
+import br.com.fipe.fipepriceexplorer.replay.ReplayStubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpTransportBenchmark {
+
+    @Param({"default", "tuned"})
+    public String transport;
+
+    @Param({"5"})
+    public int latencyMillis;
+
+    @Param({"64"})
+    public int fanOut;
+
+    @Param({"800"})
+    public int modelsPerResponse;
+
+    private Path recordings;
+    private ReplayStubServer stub;
+    private WebClient webClient;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        recordings = Recordings.createDirectory();
+        byte[] models = Recordings.modelList(modelsPerResponse);
+        for (int i = 0; i < fanOut; i++) {
+            Recordings.record(recordings, "/cars/brands/" + i + "/models", models);
+        }
+        stub = Recordings.serve(recordings, Duration.ofMillis(latencyMillis));
+        webClient = "tuned".equals(transport)
+                ? WebClientConfig.createWebClient(stub.baseUrl(), HttpTransportProperties.defaults())
+                : WebClient.create(stub.baseUrl());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stub.close();
+        Recordings.delete(recordings);
+    }
+
+    @Benchmark
+    public long fanOutModelLists() {
+        return Flux.range(0, fanOut)
+                .flatMap(i -> webClient
+                                .get()
+                                .uri("/cars/brands/{code}/models", i)
+                                .retrieve()
+                                .bodyToFlux(FipeModelDTO.class)
+                                .count(),
+                        fanOut)
+                .reduce(0L, Long::sum)
+                .block();
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.fipe.fipepriceexplorer.benchmark;
+
+import br.com.fipe.fipepriceexplorer.client.CodeNameJsonDecoder;
+import br.com.fipe.fipepriceexplorer.dto.FipeBrandDTO;
+import br.com.fipe.fipepriceexplorer.dto.FipeModelDTO;
+import br.com.fipe.fipepriceexplorer.dto.FipePriceDTO;
+import br.com.fipe.fipepriceexplorer.dto.FipeYearDTO;
+import br.com.fipe.fipepriceexplorer.util.StringInterner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonDecodingBenchmark {
+
+    private JsonMapper jsonMapper;
+
+    private byte[] brands;
+    private byte[] models;
+    private byte[] years;
+    private byte[] price;
+
+    private JavaType brandList;
+    private JavaType modelList;
+    private JavaType yearList;
+
+    private StringInterner interner;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = Fixtures.jsonMapper();
+
+        brands = Fixtures.load(Fixtures.BRANDS);
+        models = Fixtures.load(Fixtures.MODELS);
+        years = Fixtures.load(Fixtures.YEARS);
+        price = Fixtures.load(Fixtures.PRICE);
+
+        brandList = Fixtures.listOf(jsonMapper, FipeBrandDTO.class);
+        modelList = Fixtures.listOf(jsonMapper, FipeModelDTO.class);
+        yearList = Fixtures.listOf(jsonMapper, FipeYearDTO.class);
+
+        interner = new StringInterner(4096);
+    }
+
+    @Benchmark
+    public List<FipeBrandDTO> brands() {
+        return jsonMapper.readValue(brands, brandList);
+    }
+
+    @Benchmark
+    public List<FipeModelDTO> models() {
+        return jsonMapper.readValue(models, modelList);
+    }
+
+    @Benchmark
+    public List<FipeYearDTO> years() {
+        return jsonMapper.readValue(years, yearList);
+    }
+
+    @Benchmark
+    public List<FipeModelDTO> modelsStreaming() {
+        CodeNameJsonDecoder<FipeModelDTO> decoder = new CodeNameJsonDecoder<>(FipeModelDTO::new, null);
+        List<FipeModelDTO> decoded = decoder.decode(ByteBuffer.wrap(models));
+        decoder.finish();
+        return decoded;
+    }
+
+    @Benchmark
+    public List<FipeYearDTO> yearsStreaming() {
+        CodeNameJsonDecoder<FipeYearDTO> decoder = new CodeNameJsonDecoder<>(FipeYearDTO::new, interner);
+        List<FipeYearDTO> decoded = decoder.decode(ByteBuffer.wrap(years));
+        decoder.finish();
+        return decoded;
+    }
+
+    @Benchmark
+    public FipePriceDTO price() {
+        return jsonMapper.readValue(price, FipePriceDTO.class);
+    }
+}
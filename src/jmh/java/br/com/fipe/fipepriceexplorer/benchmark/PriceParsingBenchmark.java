@@ -0,0 +1,66 @@
+package br.com.fipe.fipepriceexplorer.benchmark;
+
+import br.com.fipe.fipepriceexplorer.util.FipePriceFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceParsingBenchmark {
+
+    private static final Pattern NON_NUMERIC = Pattern.compile("[^0-9,]");
+
+    @Param({"R$ 9.870,00", "R$ 128.450,50", "R$ 3.456.789,99"})
+    public String price;
+
+    private char[] chars;
+    private NumberFormat currencyFormat;
+
+    @Setup
+    public void setUp() {
+        chars = price.toCharArray();
+        currencyFormat = NumberFormat.getCurrencyInstance(Locale.of("pt", "BR"));
+    }
+
+    @Benchmark
+    public long scanner() {
+        return FipePriceFormat.parseCentavos(price);
+    }
+
+    @Benchmark
+    public long scannerOnCharBuffer() {
+        return FipePriceFormat.parseCentavos(chars, 0, chars.length);
+    }
+
+    @Benchmark
+    public long regexAndBigDecimal() {
+        String normalized = NON_NUMERIC.matcher(price).replaceAll("").replace(',', '.');
+        return new BigDecimal(normalized).movePointRight(2).longValueExact();
+    }
+
+    @Benchmark
+    public long numberFormat() throws ParseException {
+        Number parsed = currencyFormat.parse(price.replace(' ', '\u00a0'));
+        return BigDecimal.valueOf(parsed.doubleValue()).movePointRight(2).longValue();
+    }
+}
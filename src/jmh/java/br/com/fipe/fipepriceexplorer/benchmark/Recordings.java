@@ -0,0 +1,110 @@
+package br.com.fipe.fipepriceexplorer.benchmark;
+
+import br.com.fipe.fipepriceexplorer.config.StubProperties;
+import br.com.fipe.fipepriceexplorer.dto.FipeYearDTO;
+import br.com.fipe.fipepriceexplorer.replay.LatencyDistribution;
+import br.com.fipe.fipepriceexplorer.replay.ReplayStore;
+import br.com.fipe.fipepriceexplorer.replay.ReplayStubServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/** Lays fixtures out as a recordings directory and replays it with the same stub the {@code stub} mode uses. */
+final class Recordings {
+
+    private Recordings() {}
+
+    static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("fipe-recordings-");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static void record(Path dir, String path, byte[] body) {
+        Path file = ReplayStore.fileFor(dir, path, null);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /** Brand list, plus the model list, year list and models of every year of one brand. */
+    static void recordBrand(Path dir, String brandCode) {
+        byte[] models = Fixtures.load(Fixtures.MODELS);
+        byte[] brandYears = Fixtures.load(Fixtures.BRAND_YEARS);
+
+        record(dir, "/cars/brands", Fixtures.load(Fixtures.BRANDS));
+        record(dir, "/cars/brands/" + brandCode + "/models", models);
+        record(dir, "/cars/brands/" + brandCode + "/years", brandYears);
+        for (FipeYearDTO year : years(brandYears)) {
+            record(dir, "/cars/brands/" + brandCode + "/years/" + year.getYear() + "/models", models);
+        }
+    }
+
+    /** Year list of one model and a price for each of its years. */
+    static void recordModel(Path dir, String brandCode, String modelCode) {
+        byte[] years = Fixtures.load(Fixtures.YEARS);
+
+        record(dir, "/cars/brands/" + brandCode + "/models/" + modelCode + "/years", years);
+        for (FipeYearDTO year : years(years)) {
+            recordPrice(dir, brandCode, modelCode, year.getYear());
+        }
+    }
+
+    static void recordPrice(Path dir, String brandCode, String modelCode, String yearCode) {
+        record(dir, "/cars/brands/" + brandCode + "/models/" + modelCode + "/years/" + yearCode,
+                Fixtures.load(Fixtures.PRICE));
+    }
+
+    static ReplayStubServer serve(Path dir, Duration latency) {
+        return ReplayStubServer.start(new StubProperties(
+                dir,
+                "127.0.0.1",
+                0,
+                LatencyDistribution.FIXED,
+                latency,
+                latency,
+                0,
+                Duration.ZERO,
+                Duration.ZERO,
+                Duration.ofSeconds(1),
+                1));
+    }
+
+    static void delete(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static byte[] modelList(int size) {
+        StringBuilder json = new StringBuilder(size * 48).append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"code\":\"").append(4000 + i)
+                    .append("\",\"name\":\"MODEL ").append(i).append(" 1.0 Flex 8V 5p\"}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<FipeYearDTO> years(byte[] json) {
+        return Fixtures.jsonMapper().readValue(json, Fixtures.listOf(Fixtures.jsonMapper(), FipeYearDTO.class));
+    }
+}
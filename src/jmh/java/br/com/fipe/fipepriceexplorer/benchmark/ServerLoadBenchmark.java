@@ -0,0 +1,117 @@
+package br.com.fipe.fipepriceexplorer.benchmark;
+
+import br.com.fipe.fipepriceexplorer.FipePriceExplorerApplication;
+import br.com.fipe.fipepriceexplorer.replay.ReplayStubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServerLoadBenchmark {
+
+    @Param({"2000"})
+    public int concurrentRequests;
+
+    @Param({"20"})
+    public int stubLatencyMillis;
+
+    @Param({"50"})
+    public int distinctBrands;
+
+    private Path recordings;
+    private ReplayStubServer stub;
+    private ConfigurableApplicationContext context;
+    private WebClient loadClient;
+    private String etag;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        recordings = Recordings.createDirectory();
+        byte[] models = Recordings.modelList(400);
+        for (int i = 0; i < Math.max(2, distinctBrands); i++) {
+            Recordings.record(recordings, "/cars/brands/" + i + "/models", models);
+        }
+        stub = Recordings.serve(recordings, Duration.ofMillis(stubLatencyMillis));
+        context = SpringApplication.run(
+                FipePriceExplorerApplication.class,
+                "--spring.profiles.active=server",
+                "--server.port=0",
+                "--fipe.api.base-url=" + stub.baseUrl(),
+                "--fipe.resilience.requests-per-second=1000",
+                "--fipe.resilience.max-requests-per-second=1000");
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        HttpClient httpClient = HttpClient.create(ConnectionProvider.builder("load")
+                .maxConnections(500)
+                .pendingAcquireMaxCount(-1)
+                .build());
+        loadClient = WebClient.builder()
+                .baseUrl("http://127.0.0.1:" + port)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+
+        etag = loadClient.get().uri("/api/cars/brands/1/models").retrieve().toBodilessEntity()
+                .map(response -> response.getHeaders().getETag())
+                .block();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        stub.close();
+        Recordings.delete(recordings);
+    }
+
+    @Benchmark
+    public long modelsAcrossBrands() {
+        return Flux.range(0, concurrentRequests)
+                .flatMap(i -> loadClient
+                                .get()
+                                .uri("/api/cars/brands/{code}/models", i % distinctBrands)
+                                .retrieve()
+                                .toBodilessEntity(),
+                        concurrentRequests)
+                .count()
+                .block();
+    }
+
+    @Benchmark
+    public long conditionalRevalidation() {
+        return Flux.range(0, concurrentRequests)
+                .flatMap(i -> loadClient
+                                .get()
+                                .uri("/api/cars/brands/1/models")
+                                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode())),
+                        concurrentRequests)
+                .count()
+                .block();
+    }
+}
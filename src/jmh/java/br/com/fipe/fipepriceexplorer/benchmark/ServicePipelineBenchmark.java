@@ -0,0 +1,105 @@
+package br.com.fipe.fipepriceexplorer.benchmark;
+
+import br.com.fipe.fipepriceexplorer.cache.TieredResponseCache;
+import br.com.fipe.fipepriceexplorer.catalog.OfflineCatalog;
+import br.com.fipe.fipepriceexplorer.client.FipeClient;
+import br.com.fipe.fipepriceexplorer.client.PriceWarmCache;
+import br.com.fipe.fipepriceexplorer.client.SingleFlight;
+import br.com.fipe.fipepriceexplorer.config.HttpTransportProperties;
+import br.com.fipe.fipepriceexplorer.config.WebClientConfig;
+import br.com.fipe.fipepriceexplorer.dto.FipePriceDTO;
+import br.com.fipe.fipepriceexplorer.execution.StructuredExecutor;
+import br.com.fipe.fipepriceexplorer.dto.VehicleModelsDTO;
+import br.com.fipe.fipepriceexplorer.metrics.FipeMetrics;
+import br.com.fipe.fipepriceexplorer.replay.ReplayStubServer;
+import br.com.fipe.fipepriceexplorer.service.FipeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServicePipelineBenchmark {
+
+    @Param({"20"})
+    public int latencyMillis;
+
+    @Param({"1", "8"})
+    public int concurrency;
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    private Path recordings;
+    private ReplayStubServer stub;
+    private FipeService fipeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        recordings = Recordings.createDirectory();
+        Recordings.recordBrand(recordings, "59");
+        Recordings.recordModel(recordings, "59", "5001");
+        stub = Recordings.serve(recordings, Duration.ofMillis(latencyMillis));
+
+        FipeMetrics metrics = new FipeMetrics(new SimpleMeterRegistry());
+        TieredResponseCache cache = new TieredResponseCache(
+                Fixtures.jsonMapper(), cacheEnabled, Duration.ofHours(1), DataSize.ofMegabytes(16), "");
+        FipeClient fipeClient = new FipeClient(
+                WebClientConfig.createWebClient(stub.baseUrl(), HttpTransportProperties.defaults()),
+                cache,
+                new SingleFlight(),
+                metrics,
+                new PriceWarmCache(0, Duration.ZERO));
+
+        fipeService = new FipeService(
+                fipeClient,
+                metrics,
+                new StructuredExecutor("reactive"),
+                OfflineCatalog.disabled(),
+                concurrency,
+                Duration.ofSeconds(10));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stub.close();
+        Recordings.delete(recordings);
+    }
+
+    @Benchmark
+    public List<FipePriceDTO> listPricesForAllYears() {
+        return fipeService.listPricesForAllYears("59", "5001", Optional.empty());
+    }
+
+    @Benchmark
+    public List<FipePriceDTO> listPricesForOneYear() {
+        return fipeService.listPricesForAllYears("59", "5001", Optional.of("2014"));
+    }
+
+    @Benchmark
+    public List<VehicleModelsDTO> listModelsByBrandAndYear() {
+        return fipeService.listModelsByBrandAndYear("59", "2014");
+    }
+}
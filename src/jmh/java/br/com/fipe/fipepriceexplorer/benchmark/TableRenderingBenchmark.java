@@ -0,0 +1,69 @@
+package br.com.fipe.fipepriceexplorer.benchmark;
+
+import br.com.fipe.fipepriceexplorer.dto.FipePriceDTO;
+import br.com.fipe.fipepriceexplorer.util.ConsoleTablePrinter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableRenderingBenchmark {
+
+    @Param({"30", "500"})
+    public int rows;
+
+    private List<FipePriceDTO> prices;
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JsonMapper jsonMapper = Fixtures.jsonMapper();
+        byte[] price = Fixtures.load(Fixtures.PRICE);
+
+        prices = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            prices.add(jsonMapper.readValue(price, FipePriceDTO.class));
+        }
+
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void printPriceTable() {
+        ConsoleTablePrinter.printPriceTable(prices);
+    }
+
+    @Benchmark
+    public int streamPriceTable() {
+        return ConsoleTablePrinter.printPriceTable(Flux.fromIterable(prices));
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.fipe.fipepriceexplorer.analytics;
+
+import java.util.Locale;
+
+/** Brand and fuel match case-insensitively; a year bound of {@code 0} is open. */
+public record AnalyticsQuery(
+        boolean ranking,
+        GroupBy groupBy,
+        String brand,
+        String fuel,
+        int fromYear,
+        int toYear,
+        int band,
+        int top,
+        boolean cheapest) {
+
+    public RowFilter filterFor(PriceColumns columns) {
+        int brandId = -1;
+        if (brand != null && !brand.isBlank()) {
+            brandId = columns.findBrandId(brand.trim());
+            if (brandId < 0) {
+                throw new IllegalArgumentException("Brand '" + brand + "' is not in the price snapshot.");
+            }
+        }
+
+        int fuelId = -1;
+        if (fuel != null && !fuel.isBlank()) {
+            fuelId = columns.findFuelId(fuel.trim());
+            if (fuelId < 0) {
+                throw new IllegalArgumentException("Fuel '" + fuel + "' is not in the price snapshot.");
+            }
+        }
+
+        return new RowFilter(brandId, fuelId, fromYear > 0 ? fromYear : -1, toYear > 0 ? toYear : -1);
+    }
+
+    public String describe() {
+        String dimension = groupBy.name().toLowerCase(Locale.ROOT).replace('_', ' ');
+        return ranking
+                ? "Top " + top + " " + (cheapest ? "cheapest" : "priciest") + " vehicles by " + dimension
+                : "Price distribution by " + dimension;
+    }
+
+    /** Runs the report and prints it; returns the time spent aggregating, in microseconds. */
+    public long runAndPrint(PriceAnalyticsEngine engine) {
+        RowFilter filter = filterFor(engine.columns());
+
+        long start = System.nanoTime();
+        if (ranking) {
+            var vehicles = engine.topN(groupBy, filter, band, top, cheapest);
+            long elapsedMicros = (System.nanoTime() - start) / 1_000;
+            AnalyticsReportPrinter.printRanking(vehicles);
+            return elapsedMicros;
+        }
+
+        var groups = engine.summarize(groupBy, filter, band);
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+        AnalyticsReportPrinter.printSummary(groups);
+        return elapsedMicros;
+    }
+}
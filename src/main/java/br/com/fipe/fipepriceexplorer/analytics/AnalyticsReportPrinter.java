@@ -0,0 +1,53 @@
+package br.com.fipe.fipepriceexplorer.analytics;
+
+import br.com.fipe.fipepriceexplorer.util.FipePriceFormat;
+
+import java.util.List;
+import java.util.Locale;
+
+public final class AnalyticsReportPrinter {
+
+    private AnalyticsReportPrinter() {}
+
+    public static void printSummary(List<GroupStats> groups) {
+        System.out.printf(
+                Locale.ROOT,
+                "%n%-28s %8s %16s %16s %16s %16s %16s%n",
+                "GROUP", "COUNT", "MIN", "P25", "MEDIAN", "P90", "MAX");
+        for (GroupStats g : groups) {
+            System.out.printf(
+                    Locale.ROOT,
+                    "%-28s %8d %16s %16s %16s %16s %16s%n",
+                    truncate(g.label(), 28),
+                    g.count(),
+                    FipePriceFormat.format(g.min()),
+                    FipePriceFormat.format(g.p25()),
+                    FipePriceFormat.format(g.median()),
+                    FipePriceFormat.format(g.p90()),
+                    FipePriceFormat.format(g.max()));
+        }
+    }
+
+    public static void printRanking(List<RankedVehicle> vehicles) {
+        String group = null;
+        for (RankedVehicle v : vehicles) {
+            if (!v.group().equals(group)) {
+                group = v.group();
+                System.out.println("\n📌 " + group);
+            }
+            System.out.printf(
+                    Locale.ROOT,
+                    "%3d. %-14s %-44s %-8s %-10s %16s%n",
+                    v.rank(),
+                    truncate(v.brandName(), 14),
+                    truncate(v.modelName(), 44),
+                    v.modelYear(),
+                    truncate(v.fuel(), 10),
+                    FipePriceFormat.format(v.priceCentavos()));
+        }
+    }
+
+    private static String truncate(String value, int width) {
+        return value.length() <= width ? value : value.substring(0, width - 1) + "…";
+    }
+}
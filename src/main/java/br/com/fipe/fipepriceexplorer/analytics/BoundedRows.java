@@ -0,0 +1,93 @@
+package br.com.fipe.fipepriceexplorer.analytics;
+
+import java.util.Arrays;
+
+/** Binary heap of the {@code limit} best rows with the worst one kept at the root. */
+final class BoundedRows {
+
+    private final int[] heap;
+    private final long[] price;
+    private final boolean cheapest;
+    private int size;
+
+    BoundedRows(int limit, boolean cheapest, long[] price) {
+        this.heap = new int[limit];
+        this.price = price;
+        this.cheapest = cheapest;
+    }
+
+    void offer(int row) {
+        if (size < heap.length) {
+            heap[size] = row;
+            siftUp(size++);
+        } else if (size > 0 && better(row, heap[0])) {
+            heap[0] = row;
+            siftDown(0);
+        }
+    }
+
+    BoundedRows mergeFrom(BoundedRows other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.heap[i]);
+        }
+        return this;
+    }
+
+    /** Kept rows, best first. */
+    int[] ranked() {
+        Integer[] rows = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = heap[i];
+        }
+        Arrays.sort(rows, (a, b) -> better(a, b) ? -1 : better(b, a) ? 1 : 0);
+        int[] ranked = new int[size];
+        for (int i = 0; i < size; i++) {
+            ranked[i] = rows[i];
+        }
+        return ranked;
+    }
+
+    /** Ties go to the lower row id, so results do not depend on how the scan was split. */
+    private boolean better(int a, int b) {
+        if (price[a] != price[b]) {
+            return cheapest ? price[a] < price[b] : price[a] > price[b];
+        }
+        return a < b;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(heap[parent], heap[i])) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(heap[left], heap[right])) {
+                worst = right;
+            }
+            if (!better(heap[i], heap[worst])) {
+                return;
+            }
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.fipe.fipepriceexplorer.analytics;
+
+import java.util.Locale;
+
+/** Each dimension maps a row to a {@code long} key; labels are rendered only for reported groups. */
+public enum GroupBy {
+
+    ALL {
+        @Override
+        long key(PriceColumns c, int row, int band) {
+            return 0;
+        }
+
+        @Override
+        String label(PriceColumns c, long key, int band) {
+            return "All vehicles";
+        }
+    },
+
+    BRAND {
+        @Override
+        long key(PriceColumns c, int row, int band) {
+            return c.brand[row];
+        }
+
+        @Override
+        String label(PriceColumns c, long key, int band) {
+            return c.brandNames[(int) key];
+        }
+    },
+
+    FUEL {
+        @Override
+        long key(PriceColumns c, int row, int band) {
+            return c.fuel[row];
+        }
+
+        @Override
+        String label(PriceColumns c, long key, int band) {
+            return c.fuelNames[(int) key];
+        }
+    },
+
+    YEAR {
+        @Override
+        long key(PriceColumns c, int row, int band) {
+            return c.year[row];
+        }
+
+        @Override
+        String label(PriceColumns c, long key, int band) {
+            return yearLabel((int) key);
+        }
+    },
+
+    YEAR_BAND {
+        @Override
+        long key(PriceColumns c, int row, int band) {
+            int year = c.year[row];
+            return year == PriceColumns.ZERO_KM_YEAR ? year : year - Math.floorMod(year, band);
+        }
+
+        @Override
+        String label(PriceColumns c, long key, int band) {
+            int start = (int) key;
+            return start == PriceColumns.ZERO_KM_YEAR ? yearLabel(start) : start + "–" + (start + band - 1);
+        }
+    },
+
+    BRAND_YEAR {
+        @Override
+        long key(PriceColumns c, int row, int band) {
+            return ((long) c.brand[row] << 32) | c.year[row];
+        }
+
+        @Override
+        String label(PriceColumns c, long key, int band) {
+            return c.brandNames[(int) (key >>> 32)] + " " + yearLabel((int) key);
+        }
+    },
+
+    BRAND_FUEL {
+        @Override
+        long key(PriceColumns c, int row, int band) {
+            return ((long) c.brand[row] << 32) | c.fuel[row];
+        }
+
+        @Override
+        String label(PriceColumns c, long key, int band) {
+            return c.brandNames[(int) (key >>> 32)] + " " + c.fuelNames[(int) key];
+        }
+    };
+
+    abstract long key(PriceColumns columns, int row, int band);
+
+    abstract String label(PriceColumns columns, long key, int band);
+
+    public static GroupBy parse(String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+
+    static String yearLabel(int year) {
+        return year == PriceColumns.ZERO_KM_YEAR ? "Zero KM" : Integer.toString(year);
+    }
+}
@@ -0,0 +1,5 @@
+package br.com.fipe.fipepriceexplorer.analytics;
+
+/** Price distribution of one group, in centavos. Percentiles use the nearest-rank method. */
+public record GroupStats(
+        String label, int count, long min, long p10, long p25, long median, long p75, long p90, long max, long mean) {}
@@ -0,0 +1,126 @@
+package br.com.fipe.fipepriceexplorer.analytics;
+
+import java.util.Arrays;
+import java.util.function.BinaryOperator;
+import java.util.function.LongFunction;
+
+/** Open-addressing {@code long -> V} map; group keys are non-negative, so {@link Long#MIN_VALUE} marks empty slots. */
+final class LongKeyedMap<V> {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    LongKeyedMap() {
+        allocate(16);
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V computeIfAbsent(long key, LongFunction<V> factory) {
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        V value = factory.apply(key);
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return value;
+    }
+
+    /** Moves every entry of {@code other} into this map, combining values of keys present in both. */
+    @SuppressWarnings("unchecked")
+    LongKeyedMap<V> mergeFrom(LongKeyedMap<V> other, BinaryOperator<V> combine) {
+        for (int i = 0; i < other.keys.length; i++) {
+            long key = other.keys[i];
+            if (key == EMPTY) {
+                continue;
+            }
+            V incoming = (V) other.values[i];
+            V existing = get(key);
+            if (existing == null) {
+                computeIfAbsent(key, k -> incoming);
+            } else {
+                V combined = combine.apply(existing, incoming);
+                if (combined != existing) {
+                    put(key, combined);
+                }
+            }
+        }
+        return this;
+    }
+
+    long[] sortedKeys() {
+        long[] sorted = new long[size];
+        int n = 0;
+        for (long key : keys) {
+            if (key != EMPTY) {
+                sorted[n++] = key;
+            }
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private void put(long key, V value) {
+        int slot = slot(key);
+        while (keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        values[slot] = value;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) {
+                continue;
+            }
+            int slot = slot(oldKeys[i]);
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E37_79B9_7F4A_7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.fipe.fipepriceexplorer.analytics;
+
+import java.util.Arrays;
+
+/** Growable {@code long[]} used as a per-group price accumulator. */
+final class LongList {
+
+    private long[] values = new long[16];
+    private int size;
+
+    void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    LongList addAll(LongList other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+        return this;
+    }
+
+    long[] toSortedArray(int parallelThreshold) {
+        long[] sorted = Arrays.copyOf(values, size);
+        if (size >= parallelThreshold) {
+            Arrays.parallelSort(sorted);
+        } else {
+            Arrays.sort(sorted);
+        }
+        return sorted;
+    }
+}
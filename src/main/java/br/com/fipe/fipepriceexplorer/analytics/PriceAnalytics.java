@@ -0,0 +1,66 @@
+package br.com.fipe.fipepriceexplorer.analytics;
+
+import br.com.fipe.fipepriceexplorer.snapshot.PriceSnapshot;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+/** Reloads {@link PriceColumns} only when the snapshot file changes. */
+@Component
+public class PriceAnalytics implements DisposableBean {
+
+    private final Path snapshotFile;
+    private final ForkJoinPool pool;
+
+    private PriceAnalyticsEngine engine;
+    private FileTime loadedAt;
+
+    public PriceAnalytics(
+            @Value("${fipe.snapshot.path:fipe-catalog.snapshot}") Path snapshotFile,
+            @Value("${fipe.analytics.parallelism:0}") int parallelism) {
+        this.snapshotFile = snapshotFile;
+        this.pool = new ForkJoinPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    public Path snapshotFile() {
+        return snapshotFile;
+    }
+
+    public int parallelism() {
+        return pool.getParallelism();
+    }
+
+    /** The engine over the current snapshot, or empty if no snapshot has been written yet. */
+    public synchronized Optional<PriceAnalyticsEngine> engine() {
+        if (!Files.isRegularFile(snapshotFile)) {
+            return Optional.empty();
+        }
+
+        try {
+            FileTime modified = Files.getLastModifiedTime(snapshotFile);
+            if (engine == null || !modified.equals(loadedAt)) {
+                try (PriceSnapshot snapshot = PriceSnapshot.open(snapshotFile)) {
+                    engine = new PriceAnalyticsEngine(PriceColumns.load(snapshot, pool), pool);
+                }
+                loadedAt = modified;
+            }
+            return Optional.of(engine);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to load price snapshot " + snapshotFile + ".", ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
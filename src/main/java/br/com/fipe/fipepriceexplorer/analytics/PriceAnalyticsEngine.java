@@ -0,0 +1,114 @@
+package br.com.fipe.fipepriceexplorer.analytics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/** Each fork-join worker groups into its own {@link LongKeyedMap}; the maps merge when splits join. */
+public class PriceAnalyticsEngine {
+
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 13;
+
+    private final PriceColumns columns;
+    private final ForkJoinPool pool;
+
+    public PriceAnalyticsEngine(PriceColumns columns, ForkJoinPool pool) {
+        this.columns = columns;
+        this.pool = pool;
+    }
+
+    public PriceColumns columns() {
+        return columns;
+    }
+
+    public List<GroupStats> summarize(GroupBy groupBy, RowFilter filter, int band) {
+        int yearBand = Math.max(1, band);
+
+        return run(() -> {
+            LongKeyedMap<LongList> groups = IntStream.range(0, columns.rows)
+                    .parallel()
+                    .filter(row -> filter.matches(columns, row))
+                    .collect(
+                            LongKeyedMap<LongList>::new,
+                            (map, row) -> map
+                                    .computeIfAbsent(groupBy.key(columns, row, yearBand), key -> new LongList())
+                                    .add(columns.price[row]),
+                            (left, right) -> left.mergeFrom(right, LongList::addAll));
+
+            return Arrays.stream(groups.sortedKeys())
+                    .parallel()
+                    .mapToObj(key -> stats(
+                            groupBy.label(columns, key, yearBand),
+                            groups.get(key).toSortedArray(PARALLEL_SORT_THRESHOLD)))
+                    .toList();
+        });
+    }
+
+    public List<RankedVehicle> topN(GroupBy groupBy, RowFilter filter, int band, int limit, boolean cheapest) {
+        int yearBand = Math.max(1, band);
+        int perGroup = Math.max(1, limit);
+
+        return run(() -> {
+            LongKeyedMap<BoundedRows> groups = IntStream.range(0, columns.rows)
+                    .parallel()
+                    .filter(row -> filter.matches(columns, row))
+                    .collect(
+                            LongKeyedMap<BoundedRows>::new,
+                            (map, row) -> map
+                                    .computeIfAbsent(
+                                            groupBy.key(columns, row, yearBand),
+                                            key -> new BoundedRows(perGroup, cheapest, columns.price))
+                                    .offer(row),
+                            (left, right) -> left.mergeFrom(right, BoundedRows::mergeFrom));
+
+            return Arrays.stream(groups.sortedKeys())
+                    .mapToObj(key -> {
+                        String label = groupBy.label(columns, key, yearBand);
+                        int[] ranked = groups.get(key).ranked();
+                        return IntStream.range(0, ranked.length).mapToObj(i -> vehicle(label, i + 1, ranked[i]));
+                    })
+                    .flatMap(vehicles -> vehicles)
+                    .toList();
+        });
+    }
+
+    private RankedVehicle vehicle(String group, int rank, int row) {
+        return new RankedVehicle(
+                group,
+                rank,
+                columns.brandNames[columns.brand[row]],
+                columns.modelNames[columns.model[row]],
+                GroupBy.yearLabel(columns.year[row]),
+                columns.fuelNames[columns.fuel[row]],
+                columns.price[row]);
+    }
+
+    private static GroupStats stats(String label, long[] sorted) {
+        long sum = 0;
+        for (long price : sorted) {
+            sum += price;
+        }
+        return new GroupStats(
+                label,
+                sorted.length,
+                sorted[0],
+                percentile(sorted, 10),
+                percentile(sorted, 25),
+                percentile(sorted, 50),
+                percentile(sorted, 75),
+                percentile(sorted, 90),
+                sorted[sorted.length - 1],
+                sum / sorted.length);
+    }
+
+    private static long percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private <T> T run(Callable<T> task) {
+        return pool.submit(task).join();
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.fipe.fipepriceexplorer.analytics;
+
+import br.com.fipe.fipepriceexplorer.snapshot.PriceSnapshot;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/** Heap copy of the snapshot columns, so parallel scans split the row range without sharing a buffer. */
+public final class PriceColumns {
+
+    public static final int ZERO_KM_YEAR = 32000;
+
+    final String referenceMonth;
+    final int rows;
+    final int[] brand;
+    final int[] model;
+    final int[] year;
+    final int[] fuel;
+    final long[] price;
+
+    final String[] brandNames;
+    final String[] modelNames;
+    final String[] fuelNames;
+
+    private PriceColumns(PriceSnapshot snapshot, ForkJoinPool pool) {
+        this.referenceMonth = snapshot.referenceMonth();
+        this.rows = snapshot.rowCount();
+        this.brand = new int[rows];
+        this.model = new int[rows];
+        this.year = new int[rows];
+        this.fuel = new int[rows];
+        this.price = new long[rows];
+
+        // Submitted to the analytics pool so the copy does not compete with the common pool.
+        pool.submit(() -> IntStream.range(0, rows).parallel().forEach(row -> {
+            brand[row] = snapshot.brandId(row);
+            model[row] = snapshot.modelId(row);
+            year[row] = snapshot.modelYear(row);
+            fuel[row] = snapshot.fuelId(row);
+            price[row] = snapshot.priceCentavos(row);
+        })).join();
+
+        this.brandNames = new String[snapshot.brandCount()];
+        for (int i = 0; i < brandNames.length; i++) {
+            brandNames[i] = snapshot.brandName(i);
+        }
+        this.modelNames = new String[snapshot.modelCount()];
+        for (int i = 0; i < modelNames.length; i++) {
+            modelNames[i] = snapshot.modelName(i);
+        }
+        this.fuelNames = new String[snapshot.fuelCount()];
+        for (int i = 0; i < fuelNames.length; i++) {
+            fuelNames[i] = snapshot.fuelName(i);
+        }
+    }
+
+    public static PriceColumns load(PriceSnapshot snapshot, ForkJoinPool pool) {
+        return new PriceColumns(snapshot, pool);
+    }
+
+    public String referenceMonth() {
+        return referenceMonth;
+    }
+
+    public int rowCount() {
+        return rows;
+    }
+
+    public int findBrandId(String name) {
+        for (int i = 0; i < brandNames.length; i++) {
+            if (brandNames[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int findFuelId(String name) {
+        for (int i = 0; i < fuelNames.length; i++) {
+            if (fuelNames[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,4 @@
+package br.com.fipe.fipepriceexplorer.analytics;
+
+public record RankedVehicle(
+        String group, int rank, String brandName, String modelName, String modelYear, String fuel, long priceCentavos) {}
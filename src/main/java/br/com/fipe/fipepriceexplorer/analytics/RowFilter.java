@@ -0,0 +1,14 @@
+package br.com.fipe.fipepriceexplorer.analytics;
+
+/** Row predicate over {@link PriceColumns}; {@code -1} leaves a field unconstrained. */
+public record RowFilter(int brandId, int fuelId, int fromYear, int toYear) {
+
+    public static final RowFilter ALL = new RowFilter(-1, -1, -1, -1);
+
+    boolean matches(PriceColumns columns, int row) {
+        return (brandId < 0 || columns.brand[row] == brandId)
+                && (fuelId < 0 || columns.fuel[row] == fuelId)
+                && (fromYear < 0 || columns.year[row] >= fromYear)
+                && (toYear < 0 || columns.year[row] <= toYear);
+    }
+}
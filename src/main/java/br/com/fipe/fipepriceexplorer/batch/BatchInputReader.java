@@ -0,0 +1,76 @@
+package br.com.fipe.fipepriceexplorer.batch;
+
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+final class BatchInputReader {
+
+    private final JsonMapper jsonMapper;
+
+    BatchInputReader(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    Flux<NumberedQuery> read(Path input) {
+        boolean jsonLines = isJsonLines(input);
+
+        return Flux.fromStream(() -> lines(input))
+                .index((index, line) -> new NumberedLine(index + 1, line))
+                .filter(l -> !l.text().isBlank())
+                .map(l -> new NumberedQuery(l.number(), jsonLines ? parseJson(l.text()) : parseCsv(l.text())))
+                .filter(q -> !isCsvHeader(q.query()));
+    }
+
+    static boolean isJsonLines(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json");
+    }
+
+    private Stream<String> lines(Path input) {
+        try {
+            return Files.lines(input, StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read batch input " + input + ".", ex);
+        }
+    }
+
+    private BatchQuery parseJson(String line) {
+        try {
+            return jsonMapper.readValue(line, BatchQuery.class);
+        } catch (RuntimeException ex) {
+            return new BatchQuery(null, null, null);
+        }
+    }
+
+    private static BatchQuery parseCsv(String line) {
+        String[] cells = line.split("[,;]", -1);
+        return new BatchQuery(cell(cells, 0), cell(cells, 1), cell(cells, 2));
+    }
+
+    private static String cell(String[] cells, int index) {
+        if (index >= cells.length) {
+            return null;
+        }
+        String value = cells[index].trim();
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1).trim();
+        }
+        return value;
+    }
+
+    private static boolean isCsvHeader(BatchQuery query) {
+        return query.brandCode() != null && query.brandCode().equalsIgnoreCase("brandCode");
+    }
+
+    private record NumberedLine(long number, String text) {}
+
+    record NumberedQuery(long line, BatchQuery query) {}
+}
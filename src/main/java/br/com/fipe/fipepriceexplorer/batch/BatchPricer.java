@@ -0,0 +1,153 @@
+package br.com.fipe.fipepriceexplorer.batch;
+
+import br.com.fipe.fipepriceexplorer.execution.StructuredExecutor;
+import br.com.fipe.fipepriceexplorer.service.FipeService;
+import br.com.fipe.fipepriceexplorer.service.YearPriceResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+@Component
+public class BatchPricer {
+
+    private final FipeService fipeService;
+    private final JsonMapper jsonMapper;
+    private final StructuredExecutor executor;
+    private final int concurrency;
+    private final int dedupeWindow;
+
+    public BatchPricer(
+            FipeService fipeService,
+            JsonMapper jsonMapper,
+            StructuredExecutor executor,
+            @Value("${fipe.batch.concurrency:8}") int concurrency,
+            @Value("${fipe.batch.dedupe-window:10000}") int dedupeWindow) {
+        this.fipeService = fipeService;
+        this.jsonMapper = jsonMapper;
+        this.executor = executor;
+        this.concurrency = Math.max(1, concurrency);
+        this.dedupeWindow = Math.max(1, dedupeWindow);
+    }
+
+    public BatchSummary price(Path input, Path output, LongConsumer onWritten) {
+        BatchInputReader reader = new BatchInputReader(jsonMapper);
+        RecentLookups recent = new RecentLookups(dedupeWindow);
+        AtomicLong rows = new AtomicLong();
+        AtomicLong priced = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+
+        try (BatchResultWriter writer = new BatchResultWriter(jsonMapper, output)) {
+            if (executor.isBlocking()) {
+                // Not synchronized: a virtual thread blocked in file I/O under a monitor would pin its carrier.
+                ReentrantLock writeLock = new ReentrantLock();
+                executor.forEach(reader.read(input).toIterable(), concurrency, q -> {
+                    rows.incrementAndGet();
+                    List<BatchResult> results = resolve(q.line(), q.query(), recent).collectList().block();
+                    writeLock.lock();
+                    try {
+                        for (BatchResult result : results) {
+                            writer.write(result);
+                            (result.isSuccess() ? priced : failed).incrementAndGet();
+                            onWritten.accept(priced.get() + failed.get());
+                        }
+                    } finally {
+                        writeLock.unlock();
+                    }
+                });
+                return new BatchSummary(rows.get(), priced.get(), failed.get(), recent.reused());
+            }
+
+            reader.read(input)
+                    .doOnNext(q -> rows.incrementAndGet())
+                    .flatMap(q -> resolve(q.line(), q.query(), recent), concurrency)
+                    .doOnNext(result -> {
+                        writer.write(result);
+                        (result.isSuccess() ? priced : failed).incrementAndGet();
+                        onWritten.accept(priced.get() + failed.get());
+                    })
+                    .then()
+                    .block();
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to close batch output " + output + ".", ex);
+        }
+
+        return new BatchSummary(rows.get(), priced.get(), failed.get(), recent.reused());
+    }
+
+    private Flux<BatchResult> resolve(long line, BatchQuery query, RecentLookups recent) {
+        if (!query.isValid()) {
+            return Flux.just(BatchResult.failure(
+                    line, query, query.yearCode(), "Expected brandCode, modelCode and yearCode (or YYYY)."));
+        }
+
+        return recent.lookup(query.key(), () -> lookup(query))
+                .flatMapIterable(results -> results)
+                .map(r -> r.isSuccess()
+                        ? BatchResult.success(line, query, r.yearCode(), r.price())
+                        : BatchResult.failure(line, query, r.yearCode(), r.errorMessage()));
+    }
+
+    private Mono<List<YearPriceResult>> lookup(BatchQuery query) {
+        if (query.yearCode().contains("-")) {
+            return fipeService
+                    .fetchYearPrice(query.brandCode(), query.modelCode(), query.yearCode())
+                    .map(List::of);
+        }
+
+        return fipeService
+                .fetchPriceResultsForAllYears(query.brandCode(), query.modelCode(), Optional.of(query.yearCode()))
+                .collectList()
+                .map(results -> results.isEmpty()
+                        ? failure(query, "No FIPE year matches this model.")
+                        : results)
+                .onErrorResume(ex -> Mono.just(failure(query, ex.getMessage())));
+    }
+
+    private static List<YearPriceResult> failure(BatchQuery query, String message) {
+        return List.of(YearPriceResult.failure(query.yearCode(), message));
+    }
+
+    private static final class RecentLookups {
+        private final Map<String, Mono<List<YearPriceResult>>> lookups;
+        private final AtomicLong reused = new AtomicLong();
+
+        RecentLookups(int capacity) {
+            this.lookups = new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Mono<List<YearPriceResult>>> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized Mono<List<YearPriceResult>> lookup(String key, Supplier<Mono<List<YearPriceResult>>> loader) {
+            Mono<List<YearPriceResult>> existing = lookups.get(key);
+            if (existing != null) {
+                reused.incrementAndGet();
+                return existing;
+            }
+            Mono<List<YearPriceResult>> created = Mono.defer(loader).cache();
+            lookups.put(key, created);
+            return created;
+        }
+
+        long reused() {
+            return reused.get();
+        }
+    }
+}
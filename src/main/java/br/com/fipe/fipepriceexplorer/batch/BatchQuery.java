@@ -0,0 +1,19 @@
+package br.com.fipe.fipepriceexplorer.batch;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record BatchQuery(
+        String brandCode, String modelCode, @JsonAlias("year") String yearCode) {
+
+    public String key() {
+        return brandCode + "/" + modelCode + "/" + yearCode;
+    }
+
+    public boolean isValid() {
+        return brandCode != null && !brandCode.isBlank()
+                && modelCode != null && !modelCode.isBlank()
+                && yearCode != null && !yearCode.isBlank();
+    }
+}
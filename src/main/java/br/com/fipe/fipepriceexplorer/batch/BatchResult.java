@@ -0,0 +1,42 @@
+package br.com.fipe.fipepriceexplorer.batch;
+
+import br.com.fipe.fipepriceexplorer.dto.FipePriceDTO;
+import br.com.fipe.fipepriceexplorer.util.FipePriceFormat;
+
+public record BatchResult(
+        long line,
+        String brandCode,
+        String modelCode,
+        String yearCode,
+        String brand,
+        String model,
+        Integer modelYear,
+        String fuel,
+        Long priceCentavos,
+        String price,
+        String error) {
+
+    public static BatchResult success(long line, BatchQuery query, String yearCode, FipePriceDTO price) {
+        return new BatchResult(
+                line,
+                query.brandCode(),
+                query.modelCode(),
+                yearCode,
+                price.getBrand(),
+                price.getModel(),
+                price.getModelYear(),
+                price.getFuel(),
+                price.getPriceCentavos(),
+                FipePriceFormat.format(price.getPriceCentavos()),
+                null);
+    }
+
+    public static BatchResult failure(long line, BatchQuery query, String yearCode, String error) {
+        return new BatchResult(
+                line, query.brandCode(), query.modelCode(), yearCode, null, null, null, null, null, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
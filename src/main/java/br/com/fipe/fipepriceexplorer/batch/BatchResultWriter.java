@@ -0,0 +1,100 @@
+package br.com.fipe.fipepriceexplorer.batch;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.ReentrantLock;
+
+final class BatchResultWriter implements Closeable {
+
+    private static final String CSV_HEADER =
+            "line,brandCode,modelCode,yearCode,brand,model,modelYear,fuel,priceCentavos,price,error";
+    private static final int FLUSH_EVERY = 100;
+
+    private final JsonMapper jsonMapper;
+    private final BufferedWriter writer;
+    private final boolean jsonLines;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int pending;
+
+    BatchResultWriter(JsonMapper jsonMapper, Path output) {
+        this.jsonMapper = jsonMapper;
+        this.jsonLines = BatchInputReader.isJsonLines(output);
+
+        try {
+            Path parent = output.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8);
+            if (!jsonLines) {
+                writeLine(CSV_HEADER);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to create batch output " + output + ".", ex);
+        }
+    }
+
+    void write(BatchResult result) {
+        String line = jsonLines ? jsonMapper.writeValueAsString(result) : toCsv(result);
+        lock.lock();
+        try {
+            writeLine(line);
+            if (++pending >= FLUSH_EVERY) {
+                writer.flush();
+                pending = 0;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to write batch output.", ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            writer.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeLine(String line) throws IOException {
+        writer.write(line);
+        writer.write('\n');
+    }
+
+    private static String toCsv(BatchResult r) {
+        StringBuilder sb = new StringBuilder(128);
+        sb.append(r.line()).append(',');
+        appendCsv(sb, r.brandCode()).append(',');
+        appendCsv(sb, r.modelCode()).append(',');
+        appendCsv(sb, r.yearCode()).append(',');
+        appendCsv(sb, r.brand()).append(',');
+        appendCsv(sb, r.model()).append(',');
+        appendCsv(sb, r.modelYear() == null ? null : r.modelYear().toString()).append(',');
+        appendCsv(sb, r.fuel()).append(',');
+        appendCsv(sb, r.priceCentavos() == null ? null : r.priceCentavos().toString()).append(',');
+        appendCsv(sb, r.price()).append(',');
+        appendCsv(sb, r.error());
+        return sb.toString();
+    }
+
+    private static StringBuilder appendCsv(StringBuilder sb, String value) {
+        if (value == null) {
+            return sb;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return sb.append(value);
+        }
+        return sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,3 @@
+package br.com.fipe.fipepriceexplorer.batch;
+
+public record BatchSummary(long rows, long priced, long failed, long reused) {}
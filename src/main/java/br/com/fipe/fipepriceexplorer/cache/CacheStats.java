@@ -0,0 +1,9 @@
+package br.com.fipe.fipepriceexplorer.cache;
+
+public record CacheStats(long hits, long diskHits, long misses, long evictions, long expirations, int entries, long bytes) {
+
+    public double hitRatio() {
+        long lookups = hits + diskHits + misses;
+        return lookups == 0 ? 0.0 : (double) (hits + diskHits) / lookups;
+    }
+}
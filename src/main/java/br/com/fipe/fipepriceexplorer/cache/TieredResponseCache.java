@@ -0,0 +1,219 @@
+package br.com.fipe.fipepriceexplorer.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+public class TieredResponseCache {
+
+    private final JsonMapper jsonMapper;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final long maxBytes;
+    private final Path diskDir;
+
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public TieredResponseCache(
+            JsonMapper jsonMapper,
+            @Value("${fipe.cache.enabled:true}") boolean enabled,
+            @Value("${fipe.cache.ttl:24h}") Duration ttl,
+            @Value("${fipe.cache.max-size:16MB}") DataSize maxSize,
+            @Value("${fipe.cache.disk-dir:}") String diskDir) {
+        this.jsonMapper = jsonMapper;
+        this.enabled = enabled;
+        this.ttlMillis = ttl.toMillis();
+        this.maxBytes = maxSize.toBytes();
+        this.diskDir = diskDir.isBlank() ? null : Path.of(diskDir);
+    }
+
+    public static String key(String endpoint, String... params) {
+        return params.length == 0 ? endpoint : endpoint + ":" + String.join("/", params);
+    }
+
+    public <T> Flux<T> cachedFlux(String key, Class<T> elementType, Supplier<Flux<T>> loader) {
+        if (!enabled) {
+            return Flux.defer(loader);
+        }
+
+        return Flux.defer(() -> {
+            List<T> cached = lookup(key, elementType);
+            if (cached != null) {
+                return Flux.fromIterable(cached);
+            }
+            misses.increment();
+            // Pass elements through as they are decoded; the entry is stored once the list is complete.
+            List<T> loaded = new ArrayList<>();
+            return loader.get()
+                    .doOnNext(loaded::add)
+                    .doOnComplete(() -> put(key, loaded));
+        });
+    }
+
+    public CacheStats stats() {
+        synchronized (memory) {
+            return new CacheStats(
+                    hits.sum(),
+                    diskHits.sum(),
+                    misses.sum(),
+                    evictions.sum(),
+                    expirations.sum(),
+                    memory.size(),
+                    memoryBytes);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (memory) {
+            memory.clear();
+            memoryBytes = 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> lookup(String key, Class<T> elementType) {
+        long now = System.currentTimeMillis();
+
+        synchronized (memory) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.increment();
+                    return (List<T>) entry.value;
+                }
+                expire(key, entry);
+            }
+        }
+
+        List<T> fromDisk = readFromDisk(key, elementType, now);
+        if (fromDisk != null) {
+            diskHits.increment();
+        }
+        return fromDisk;
+    }
+
+    private <T> void put(String key, List<T> value) {
+        List<T> snapshot = List.copyOf(value);
+        byte[] json = jsonMapper.writeValueAsBytes(snapshot);
+
+        storeInMemory(key, snapshot, json.length, System.currentTimeMillis() + ttlMillis);
+        writeToDisk(key, json);
+    }
+
+    private void storeInMemory(String key, Object value, int bytes, long expiresAt) {
+        if (bytes > maxBytes) {
+            return;
+        }
+
+        synchronized (memory) {
+            Entry previous = memory.put(key, new Entry(value, bytes, expiresAt));
+            if (previous != null) {
+                memoryBytes -= previous.bytes;
+            }
+            memoryBytes += bytes;
+
+            Iterator<Map.Entry<String, Entry>> eldest = memory.entrySet().iterator();
+            while (memoryBytes > maxBytes && eldest.hasNext()) {
+                Entry evicted = eldest.next().getValue();
+                eldest.remove();
+                memoryBytes -= evicted.bytes;
+                evictions.increment();
+            }
+        }
+    }
+
+    private void expire(String key, Entry entry) {
+        memory.remove(key);
+        memoryBytes -= entry.bytes;
+        expirations.increment();
+    }
+
+    private <T> List<T> readFromDisk(String key, Class<T> elementType, long now) {
+        if (diskDir == null) {
+            return null;
+        }
+
+        Path file = diskFile(key);
+        try {
+            if (!Files.exists(file)) {
+                return null;
+            }
+
+            long storedAt = Files.getLastModifiedTime(file).toMillis();
+            if (storedAt + ttlMillis <= now) {
+                Files.deleteIfExists(file);
+                return null;
+            }
+
+            byte[] json = Files.readAllBytes(file);
+            JavaType listType = jsonMapper.getTypeFactory().constructCollectionType(List.class, elementType);
+            List<T> value = List.copyOf(jsonMapper.readValue(json, listType));
+
+            storeInMemory(key, value, json.length, storedAt + ttlMillis);
+            return value;
+
+        } catch (IOException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, byte[] json) {
+        if (diskDir == null) {
+            return;
+        }
+
+        Path tmp = null;
+        try {
+            Files.createDirectories(diskDir);
+            tmp = Files.createTempFile(diskDir, "entry", ".tmp");
+            Files.write(tmp, json);
+            Files.move(tmp, diskFile(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+        } catch (IOException ex) {
+            // The disk tier is best effort; the in-memory entry is already stored.
+        } finally {
+            deleteQuietly(tmp);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // Best effort, like the rest of the disk tier.
+        }
+    }
+
+    private Path diskFile(String key) {
+        return diskDir.resolve(key.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+    }
+
+    private record Entry(Object value, int bytes, long expiresAt) {}
+}
@@ -0,0 +1,348 @@
+package br.com.fipe.fipepriceexplorer.catalog;
+
+import br.com.fipe.fipepriceexplorer.crawler.CatalogPriceRecord;
+import br.com.fipe.fipepriceexplorer.dto.FipeBrandDTO;
+import br.com.fipe.fipepriceexplorer.dto.FipeModelDTO;
+import br.com.fipe.fipepriceexplorer.dto.FipeYearDTO;
+import br.com.fipe.fipepriceexplorer.dto.VehicleModelsDTO;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/** Brand → model → year graph in parallel arrays linked by CSR offsets, built from a crawl JSONL file. */
+public final class CatalogGraph {
+
+    private final int[] brandCodes;
+    private final String[] brandNames;
+    private final int[] brandModels;
+
+    private final int[] modelCodes;
+    private final String[] modelNames;
+    private final int[] modelYears;
+
+    private final int[] yearValues;
+    private final char[] yearCodeIds;
+    private final char[] yearLabelIds;
+    private final char[] yearFuelIds;
+
+    private final String[] yearCodes;
+    private final String[] yearLabels;
+    private final String[] fuelLabels;
+
+    private final CodeIndex brandIndex;
+    private final CodeIndex modelIndex;
+
+    private CatalogGraph(Builder builder) {
+        int brandCount = builder.brands.size();
+        int modelCount = 0;
+        int yearCount = 0;
+        for (BrandDraft brand : builder.brands.values()) {
+            modelCount += brand.models.size();
+            for (ModelDraft model : brand.models.values()) {
+                yearCount += model.years.size();
+            }
+        }
+
+        this.brandCodes = new int[brandCount];
+        this.brandNames = new String[brandCount];
+        this.brandModels = new int[brandCount + 1];
+        this.modelCodes = new int[modelCount];
+        this.modelNames = new String[modelCount];
+        this.modelYears = new int[modelCount + 1];
+        this.yearValues = new int[yearCount];
+        this.yearCodeIds = new char[yearCount];
+        this.yearLabelIds = new char[yearCount];
+        this.yearFuelIds = new char[yearCount];
+        this.brandIndex = new CodeIndex(brandCount);
+        this.modelIndex = new CodeIndex(modelCount);
+
+        Dictionary codes = new Dictionary();
+        Dictionary labels = new Dictionary();
+        Dictionary fuels = new Dictionary();
+
+        int b = 0;
+        int m = 0;
+        int y = 0;
+        for (Map.Entry<Integer, BrandDraft> brandEntry : builder.brands.entrySet()) {
+            int brandCode = brandEntry.getKey();
+            BrandDraft brand = brandEntry.getValue();
+            brandCodes[b] = brandCode;
+            brandNames[b] = brand.name;
+            brandModels[b] = m;
+            brandIndex.put(brandCode, b);
+
+            for (Map.Entry<Integer, ModelDraft> modelEntry : brand.models.entrySet()) {
+                ModelDraft model = modelEntry.getValue();
+                modelCodes[m] = modelEntry.getKey();
+                modelNames[m] = model.name;
+                modelYears[m] = y;
+                modelIndex.put(CodeIndex.pack(brandCode, modelEntry.getKey()), m);
+
+                List<YearDraft> years = new ArrayList<>(model.years.values());
+                // Newest first, like the FIPE API lists them.
+                years.sort(Comparator.comparingInt(YearDraft::value).reversed().thenComparing(YearDraft::code));
+                for (YearDraft year : years) {
+                    yearValues[y] = year.value();
+                    yearCodeIds[y] = codes.id(year.code());
+                    yearLabelIds[y] = labels.id(year.label());
+                    yearFuelIds[y] = fuels.id(year.fuel());
+                    y++;
+                }
+                m++;
+            }
+            b++;
+        }
+        brandModels[brandCount] = m;
+        modelYears[modelCount] = y;
+
+        this.yearCodes = codes.values();
+        this.yearLabels = labels.values();
+        this.fuelLabels = fuels.values();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static CatalogGraph fromCatalog(JsonMapper jsonMapper, Path catalogJsonl) {
+        return fromCatalog(jsonMapper, catalogJsonl, brandCode -> true);
+    }
+
+    public static CatalogGraph fromCatalog(JsonMapper jsonMapper, Path catalogJsonl, Predicate<String> includeBrand) {
+        Builder builder = builder();
+        try (BufferedReader reader = Files.newBufferedReader(catalogJsonl, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    CatalogPriceRecord record = jsonMapper.readValue(line, CatalogPriceRecord.class);
+                    if (includeBrand.test(record.brandCode())) {
+                        builder.add(record);
+                    }
+                } catch (RuntimeException ex) {
+                    // Torn lines from an interrupted crawl are skipped, as in the snapshot writer.
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read catalog " + catalogJsonl + ".", ex);
+        }
+        return builder.build();
+    }
+
+    public int brandCount() {
+        return brandCodes.length;
+    }
+
+    public int modelCount() {
+        return modelCodes.length;
+    }
+
+    public int yearCount() {
+        return yearValues.length;
+    }
+
+    /** Rough retained size of the arrays and strings, for reporting. */
+    public long footprintBytes() {
+        long bytes = 4L * (brandCodes.length + brandModels.length + modelCodes.length + modelYears.length
+                + yearValues.length)
+                + 2L * 3 * yearValues.length
+                + 8L * (brandNames.length + modelNames.length);
+        for (String[] strings : List.of(brandNames, modelNames, yearCodes, yearLabels, fuelLabels)) {
+            for (String s : strings) {
+                bytes += 40 + s.length();
+            }
+        }
+        return bytes;
+    }
+
+    public boolean containsBrand(String brandCode) {
+        return brandIndexOf(brandCode) >= 0;
+    }
+
+    public boolean containsModel(String brandCode, String modelCode) {
+        return modelIndexOf(brandCode, modelCode) >= 0;
+    }
+
+    public List<FipeBrandDTO> brands() {
+        List<FipeBrandDTO> brands = new ArrayList<>(brandCodes.length);
+        for (int b = 0; b < brandCodes.length; b++) {
+            brands.add(new FipeBrandDTO(Integer.toString(brandCodes[b]), brandNames[b]));
+        }
+        return brands;
+    }
+
+    public List<FipeModelDTO> models(String brandCode) {
+        int b = brandIndexOf(brandCode);
+        if (b < 0) {
+            return List.of();
+        }
+        List<FipeModelDTO> models = new ArrayList<>(brandModels[b + 1] - brandModels[b]);
+        for (int m = brandModels[b]; m < brandModels[b + 1]; m++) {
+            models.add(new FipeModelDTO(Integer.toString(modelCodes[m]), modelNames[m]));
+        }
+        return models;
+    }
+
+    public List<FipeYearDTO> years(String brandCode, String modelCode) {
+        int m = modelIndexOf(brandCode, modelCode);
+        if (m < 0) {
+            return List.of();
+        }
+        List<FipeYearDTO> years = new ArrayList<>(modelYears[m + 1] - modelYears[m]);
+        for (int y = modelYears[m]; y < modelYears[m + 1]; y++) {
+            years.add(new FipeYearDTO(yearCodes[yearCodeIds[y]], yearLabels[yearLabelIds[y]]));
+        }
+        return years;
+    }
+
+    /** Models of a brand with at least one entry for {@code year}, whatever the fuel. */
+    public List<VehicleModelsDTO> modelsByYear(String brandCode, int year) {
+        int b = brandIndexOf(brandCode);
+        if (b < 0) {
+            return List.of();
+        }
+        List<VehicleModelsDTO> models = new ArrayList<>();
+        for (int m = brandModels[b]; m < brandModels[b + 1]; m++) {
+            for (int y = modelYears[m]; y < modelYears[m + 1]; y++) {
+                if (yearValues[y] == year) {
+                    models.add(new VehicleModelsDTO(Integer.toString(modelCodes[m]), modelNames[m]));
+                    break;
+                }
+            }
+        }
+        return models;
+    }
+
+    /** Fuel label of a year entry, or {@code null} when the vehicle is not in the graph. */
+    public String fuel(String brandCode, String modelCode, String yearCode) {
+        int m = modelIndexOf(brandCode, modelCode);
+        if (m < 0) {
+            return null;
+        }
+        for (int y = modelYears[m]; y < modelYears[m + 1]; y++) {
+            if (yearCodes[yearCodeIds[y]].equals(yearCode)) {
+                return fuelLabels[yearFuelIds[y]];
+            }
+        }
+        return null;
+    }
+
+    private int brandIndexOf(String brandCode) {
+        int code = parseCode(brandCode);
+        return code < 0 ? -1 : brandIndex.get(code);
+    }
+
+    private int modelIndexOf(String brandCode, String modelCode) {
+        int brand = parseCode(brandCode);
+        int model = parseCode(modelCode);
+        return brand < 0 || model < 0 ? -1 : modelIndex.get(CodeIndex.pack(brand, model));
+    }
+
+    /** Parses a non-negative numeric FIPE code without allocating, or returns {@code -1}. */
+    static int parseCode(String code) {
+        if (code == null) {
+            return -1;
+        }
+        int length = code.length();
+        if (length == 0 || length > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = code.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    public static final class Builder {
+        private final TreeMap<Integer, BrandDraft> brands = new TreeMap<>();
+        private final Map<String, String> canonical = new HashMap<>();
+
+        private Builder() {}
+
+        /** Adds one vehicle. Records with non-numeric codes or a year code other than {@code YYYY-N} are ignored. */
+        public Builder add(CatalogPriceRecord record) {
+            int brandCode = parseCode(record.brandCode());
+            int modelCode = parseCode(record.modelCode());
+            int dash = record.yearCode() == null ? -1 : record.yearCode().indexOf('-');
+            int yearValue = dash < 0 ? -1 : parseCode(record.yearCode().substring(0, dash));
+            if (brandCode < 0 || modelCode < 0 || yearValue < 0 || parseCode(record.yearCode().substring(dash + 1)) < 0) {
+                return this;
+            }
+
+            BrandDraft brand = brands.computeIfAbsent(brandCode, code -> new BrandDraft(canonical(record.brandName())));
+            ModelDraft model = brand.models.computeIfAbsent(modelCode, code -> new ModelDraft(canonical(record.modelName())));
+            model.years.putIfAbsent(record.yearCode(), new YearDraft(
+                    yearValue,
+                    canonical(record.yearCode()),
+                    canonical(record.yearName() == null ? record.yearCode() : record.yearName()),
+                    canonical(record.fuel() == null ? "" : record.fuel())));
+            return this;
+        }
+
+        public CatalogGraph build() {
+            return new CatalogGraph(this);
+        }
+
+        private String canonical(String value) {
+            return value == null ? "" : canonical.computeIfAbsent(value, v -> v);
+        }
+    }
+
+    private static final class BrandDraft {
+        private final String name;
+        private final TreeMap<Integer, ModelDraft> models = new TreeMap<>();
+
+        BrandDraft(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class ModelDraft {
+        private final String name;
+        private final Map<String, YearDraft> years = new HashMap<>();
+
+        ModelDraft(String name) {
+            this.name = name;
+        }
+    }
+
+    private record YearDraft(int value, String code, String label, String fuel) {}
+
+    private static final class Dictionary {
+        private final Map<String, Character> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        char id(String value) {
+            return ids.computeIfAbsent(value, v -> {
+                if (values.size() > Character.MAX_VALUE) {
+                    throw new IllegalStateException("Too many distinct catalog labels for a char dictionary.");
+                }
+                values.add(v);
+                return (char) (values.size() - 1);
+            });
+        }
+
+        String[] values() {
+            return values.toArray(String[]::new);
+        }
+    }
+}
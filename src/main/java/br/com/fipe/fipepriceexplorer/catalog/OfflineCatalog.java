@@ -0,0 +1,71 @@
+package br.com.fipe.fipepriceexplorer.catalog;
+
+import br.com.fipe.fipepriceexplorer.crawler.CrawlCheckpoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/** Resident catalog graph, loaded only from brands the crawl checkpoint marks complete. */
+@Component
+public class OfflineCatalog {
+
+    private final JsonMapper jsonMapper;
+    private final Path catalog;
+    private final boolean enabled;
+
+    private volatile Optional<CatalogGraph> graph;
+    private volatile boolean complete;
+
+    public OfflineCatalog(
+            JsonMapper jsonMapper,
+            @Value("${fipe.crawl.output:fipe-catalog.jsonl}") Path catalog,
+            @Value("${fipe.catalog.offline:false}") boolean enabled) {
+        this.jsonMapper = jsonMapper;
+        this.catalog = catalog;
+        this.enabled = enabled;
+    }
+
+    public static OfflineCatalog disabled() {
+        return new OfflineCatalog(null, Path.of(""), false);
+    }
+
+    public Optional<CatalogGraph> graph() {
+        Optional<CatalogGraph> loaded = graph;
+        if (loaded != null) {
+            return loaded;
+        }
+
+        synchronized (this) {
+            if (graph == null) {
+                if (enabled && Files.isRegularFile(catalog)) {
+                    CrawlCheckpoint.Coverage coverage = CrawlCheckpoint.coverage(catalog);
+                    complete = coverage.complete();
+                    graph = Optional.of(CatalogGraph.fromCatalog(jsonMapper, catalog, coverage.brands()::contains));
+                } else {
+                    graph = Optional.empty();
+                }
+            }
+            return graph;
+        }
+    }
+
+    /** The graph, but only if the crawl behind it finished, so its brand list is the whole catalog. */
+    public Optional<CatalogGraph> complete() {
+        Optional<CatalogGraph> loaded = graph();
+        return complete ? loaded : Optional.empty();
+    }
+
+    /** The graph, but only if it knows this brand; otherwise the caller should ask the API. */
+    public Optional<CatalogGraph> covering(String brandCode) {
+        return graph().filter(g -> g.containsBrand(brandCode));
+    }
+
+    public synchronized void invalidate() {
+        graph = null;
+        complete = false;
+    }
+}
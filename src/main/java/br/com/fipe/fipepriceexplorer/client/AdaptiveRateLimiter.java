@@ -0,0 +1,54 @@
+package br.com.fipe.fipepriceexplorer.client;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+public class AdaptiveRateLimiter {
+
+    private static final double INCREASE_PER_SUCCESS = 0.05;
+    private static final double DECREASE_FACTOR = 0.5;
+
+    private final double minRequestsPerSecond;
+    private final double maxRequestsPerSecond;
+    private double requestsPerSecond;
+    private long nextPermitAt = System.nanoTime();
+
+    public AdaptiveRateLimiter(double requestsPerSecond, double minRequestsPerSecond, double maxRequestsPerSecond) {
+        if (minRequestsPerSecond <= 0 || requestsPerSecond < minRequestsPerSecond
+                || requestsPerSecond > maxRequestsPerSecond) {
+            throw new IllegalArgumentException(
+                    "Rate limits must satisfy 0 < min <= initial <= max requests per second.");
+        }
+        this.requestsPerSecond = requestsPerSecond;
+        this.minRequestsPerSecond = minRequestsPerSecond;
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+    }
+
+    public Mono<Void> acquire() {
+        return Mono.defer(() -> {
+            long waitNanos = reserve();
+            return waitNanos <= 0 ? Mono.empty() : Mono.delay(Duration.ofNanos(waitNanos)).then();
+        });
+    }
+
+    public synchronized void onSuccess() {
+        requestsPerSecond = Math.min(maxRequestsPerSecond, requestsPerSecond + INCREASE_PER_SUCCESS);
+    }
+
+    public synchronized void onThrottled(Duration retryAfter) {
+        requestsPerSecond = Math.max(minRequestsPerSecond, requestsPerSecond * DECREASE_FACTOR);
+        nextPermitAt = Math.max(nextPermitAt, System.nanoTime() + retryAfter.toNanos());
+    }
+
+    public synchronized double currentRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        long permitAt = Math.max(nextPermitAt, now);
+        nextPermitAt = permitAt + (long) (1_000_000_000L / requestsPerSecond);
+        return permitAt - now;
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.fipe.fipepriceexplorer.client;
+
+import java.time.Duration;
+
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(Duration remaining) {
+        super("FIPE API is failing repeatedly; requests are paused for another "
+                + Math.max(1, remaining.toSeconds()) + "s.");
+    }
+}
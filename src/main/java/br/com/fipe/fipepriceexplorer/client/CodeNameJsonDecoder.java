@@ -0,0 +1,327 @@
+package br.com.fipe.fipepriceexplorer.client;
+
+import br.com.fipe.fipepriceexplorer.util.StringInterner;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/** Emits {@code code}/{@code name} objects of a list body as buffers arrive; one instance per response. */
+public class CodeNameJsonDecoder<T> {
+
+    private static final byte[] CODE = "code".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NAME = "name".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int OTHER_FIELD = 0;
+    private static final int CODE_FIELD = 1;
+    private static final int NAME_FIELD = 2;
+
+    private enum State {
+        ARRAY_START,
+        ELEMENT,
+        ELEMENT_SEPARATOR,
+        KEY,
+        IN_KEY,
+        COLON,
+        VALUE,
+        IN_STRING_VALUE,
+        IN_SCALAR_VALUE,
+        IN_NESTED_VALUE,
+        FIELD_SEPARATOR,
+        DONE
+    }
+
+    private final BiFunction<String, String, T> factory;
+    private final StringInterner interner;
+
+    private State state = State.ARRAY_START;
+    private byte[] scratch = new byte[64];
+    private int scratchLength;
+    private boolean escaped;
+    private boolean scratchHasEscapes;
+    private int field;
+    private int nestedDepth;
+    private boolean nestedInString;
+    private String code;
+    private String name;
+
+    public CodeNameJsonDecoder(BiFunction<String, String, T> factory, StringInterner interner) {
+        this.factory = factory;
+        this.interner = interner;
+    }
+
+    public static <T> Flux<T> decode(
+            Flux<DataBuffer> body, BiFunction<String, String, T> factory, StringInterner interner) {
+        return Flux.defer(() -> {
+            CodeNameJsonDecoder<T> decoder = new CodeNameJsonDecoder<>(factory, interner);
+            return body.concatMapIterable(decoder::decodeAndRelease)
+                    .concatWith(Flux.defer(() -> {
+                        decoder.finish();
+                        return Flux.empty();
+                    }))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+    }
+
+    public List<T> decodeAndRelease(DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+            List<T> elements = null;
+            while (chunks.hasNext()) {
+                elements = decode(chunks.next(), elements);
+            }
+            return elements == null ? List.of() : elements;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    public List<T> decode(ByteBuffer chunk) {
+        List<T> elements = decode(chunk, null);
+        return elements == null ? List.of() : elements;
+    }
+
+    public void finish() {
+        if (state != State.DONE) {
+            throw new DecodingException("Truncated FIPE list response: expected end of JSON array.");
+        }
+    }
+
+    private List<T> decode(ByteBuffer chunk, List<T> elements) {
+        int i = chunk.position();
+        int limit = chunk.limit();
+
+        while (i < limit) {
+            byte b = chunk.get(i);
+
+            switch (state) {
+                case ARRAY_START -> {
+                    if (b == '[') {
+                        state = State.ELEMENT;
+                    } else if (!isWhitespace(b)) {
+                        throw unexpected(b);
+                    }
+                }
+                case ELEMENT -> {
+                    if (b == '{') {
+                        code = null;
+                        name = null;
+                        state = State.KEY;
+                    } else if (b == ']') {
+                        state = State.DONE;
+                    } else if (!isWhitespace(b)) {
+                        throw unexpected(b);
+                    }
+                }
+                case ELEMENT_SEPARATOR -> {
+                    if (b == ',') {
+                        state = State.ELEMENT;
+                    } else if (b == ']') {
+                        state = State.DONE;
+                    } else if (!isWhitespace(b)) {
+                        throw unexpected(b);
+                    }
+                }
+                case KEY -> {
+                    if (b == '"') {
+                        startScratch();
+                        state = State.IN_KEY;
+                    } else if (b == '}') {
+                        elements = emit(elements);
+                    } else if (!isWhitespace(b)) {
+                        throw unexpected(b);
+                    }
+                }
+                case IN_KEY -> {
+                    if (appendToString(b)) {
+                        field = scratchEquals(CODE) ? CODE_FIELD : scratchEquals(NAME) ? NAME_FIELD : OTHER_FIELD;
+                        state = State.COLON;
+                    }
+                }
+                case COLON -> {
+                    if (b == ':') {
+                        state = State.VALUE;
+                    } else if (!isWhitespace(b)) {
+                        throw unexpected(b);
+                    }
+                }
+                case VALUE -> {
+                    if (b == '"') {
+                        startScratch();
+                        state = State.IN_STRING_VALUE;
+                    } else if (b == '{' || b == '[') {
+                        nestedDepth = 1;
+                        nestedInString = false;
+                        escaped = false;
+                        state = State.IN_NESTED_VALUE;
+                    } else if (!isWhitespace(b)) {
+                        startScratch();
+                        state = State.IN_SCALAR_VALUE;
+                        continue;
+                    }
+                }
+                case IN_STRING_VALUE -> {
+                    if (appendToString(b)) {
+                        assignField();
+                        state = State.FIELD_SEPARATOR;
+                    }
+                }
+                case IN_SCALAR_VALUE -> {
+                    if (b == ',' || b == '}' || isWhitespace(b)) {
+                        if (!scratchEquals(NULL)) {
+                            assignField();
+                        }
+                        state = State.FIELD_SEPARATOR;
+                        continue;
+                    }
+                    if (field != OTHER_FIELD) {
+                        appendScratch(b);
+                    }
+                }
+                case IN_NESTED_VALUE -> skipNested(b);
+                case FIELD_SEPARATOR -> {
+                    if (b == ',') {
+                        state = State.KEY;
+                    } else if (b == '}') {
+                        elements = emit(elements);
+                    } else if (!isWhitespace(b)) {
+                        throw unexpected(b);
+                    }
+                }
+                case DONE -> {
+                    if (!isWhitespace(b)) {
+                        throw unexpected(b);
+                    }
+                }
+            }
+            i++;
+        }
+
+        chunk.position(limit);
+        return elements;
+    }
+
+    private List<T> emit(List<T> elements) {
+        if (elements == null) {
+            elements = new ArrayList<>();
+        }
+        elements.add(factory.apply(code, name));
+        state = State.ELEMENT_SEPARATOR;
+        return elements;
+    }
+
+    private void skipNested(byte b) {
+        if (nestedInString) {
+            if (escaped) {
+                escaped = false;
+            } else if (b == '\\') {
+                escaped = true;
+            } else if (b == '"') {
+                nestedInString = false;
+            }
+        } else if (b == '"') {
+            nestedInString = true;
+        } else if (b == '{' || b == '[') {
+            nestedDepth++;
+        } else if ((b == '}' || b == ']') && --nestedDepth == 0) {
+            state = State.FIELD_SEPARATOR;
+        }
+    }
+
+    /** Appends one byte of a quoted string; returns {@code true} on the closing quote. */
+    private boolean appendToString(byte b) {
+        if (escaped) {
+            escaped = false;
+        } else if (b == '\\') {
+            escaped = true;
+            scratchHasEscapes = true;
+        } else if (b == '"') {
+            return true;
+        }
+
+        if (field != OTHER_FIELD || state == State.IN_KEY) {
+            appendScratch(b);
+        }
+        return false;
+    }
+
+    private void assignField() {
+        if (field == OTHER_FIELD) {
+            return;
+        }
+
+        String value = scratchHasEscapes
+                ? unescape(new String(scratch, 0, scratchLength, StandardCharsets.UTF_8))
+                : interner != null
+                        ? interner.intern(scratch, 0, scratchLength)
+                        : new String(scratch, 0, scratchLength, StandardCharsets.UTF_8);
+
+        if (field == CODE_FIELD) {
+            code = value;
+        } else {
+            name = value;
+        }
+    }
+
+    private void startScratch() {
+        scratchLength = 0;
+        scratchHasEscapes = false;
+        escaped = false;
+    }
+
+    private void appendScratch(byte b) {
+        if (scratchLength == scratch.length) {
+            scratch = Arrays.copyOf(scratch, scratch.length * 2);
+        }
+        scratch[scratchLength++] = b;
+    }
+
+    private boolean scratchEquals(byte[] expected) {
+        return !scratchHasEscapes && Arrays.equals(scratch, 0, scratchLength, expected, 0, expected.length);
+    }
+
+    private static String unescape(String raw) {
+        StringBuilder value = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c != '\\' || i + 1 == raw.length()) {
+                value.append(c);
+                continue;
+            }
+
+            char next = raw.charAt(++i);
+            switch (next) {
+                case 'n' -> value.append('\n');
+                case 't' -> value.append('\t');
+                case 'r' -> value.append('\r');
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'u' -> {
+                    if (i + 4 >= raw.length()) {
+                        throw new DecodingException("Invalid unicode escape in FIPE list response.");
+                    }
+                    value.append((char) Integer.parseInt(raw, i + 1, i + 5, 16));
+                    i += 4;
+                }
+                default -> value.append(next);
+            }
+        }
+        return value.toString();
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private DecodingException unexpected(byte b) {
+        return new DecodingException(
+                "Unexpected character '" + (char) b + "' in FIPE list response (state " + state + ").");
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.fipe.fipepriceexplorer.client;
+
+/** Outcome of a conditional GET: either {@code 304 Not Modified} or a fresh body with its validators. */
+public record ConditionalResponse(boolean notModified, byte[] body, String etag, String lastModified) {
+
+    public static ConditionalResponse unchanged() {
+        return new ConditionalResponse(true, null, null, null);
+    }
+
+    public static ConditionalResponse modified(byte[] body, String etag, String lastModified) {
+        return new ConditionalResponse(false, body, etag, lastModified);
+    }
+}
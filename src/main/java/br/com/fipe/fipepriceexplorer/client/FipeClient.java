@@ -1,11 +1,18 @@
 package br.com.fipe.fipepriceexplorer.client;
 
+import br.com.fipe.fipepriceexplorer.cache.TieredResponseCache;
 import br.com.fipe.fipepriceexplorer.dto.*;
+import br.com.fipe.fipepriceexplorer.metrics.FipeMetrics;
+import br.com.fipe.fipepriceexplorer.util.StringInterner;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -14,23 +21,29 @@ import java.util.List;
 public class FipeClient {
 
     private final WebClient webClient;
+    private final TieredResponseCache cache;
+    private final SingleFlight singleFlight;
+    private final FipeMetrics metrics;
+    private final PriceWarmCache priceCache;
+    // Year codes and fuel names repeat across every model of every brand.
+    private final StringInterner yearValues = new StringInterner(4096);
 
-    public FipeClient(WebClient webClient) {
+    public FipeClient(
+            WebClient webClient,
+            TieredResponseCache cache,
+            SingleFlight singleFlight,
+            FipeMetrics metrics,
+            PriceWarmCache priceCache) {
         this.webClient = webClient;
+        this.cache = cache;
+        this.singleFlight = singleFlight;
+        this.metrics = metrics;
+        this.priceCache = priceCache;
     }
 
     public List<FipeBrandDTO> getCarsBrands() {
         try {
-            return webClient
-                    .get()
-                    .uri("/cars/brands")
-                    .retrieve()
-                    .onStatus(HttpStatusCode::isError, r -> r.bodyToMono(String.class)
-                            .flatMap(body -> Mono.error(new RuntimeException(
-                                    "Failed to fetch brands from FIPE API. HTTP Status: " + r.statusCode()))))
-                    .bodyToFlux(FipeBrandDTO.class)
-                    .collectList()
-                    .block();
+            return fetchCarsBrands().collectList().block();
 
         } catch (WebClientResponseException ex) {
             throw new RuntimeException(
@@ -43,23 +56,25 @@ public class FipeClient {
         }
     }
 
+    public Flux<FipeBrandDTO> fetchCarsBrands() {
+        String key = TieredResponseCache.key("brands");
+        return cache.cachedFlux(
+                key,
+                FipeBrandDTO.class,
+                () -> singleFlight.executeMany(key, () -> metrics.timeCall("brands", webClient
+                        .get()
+                        .uri("/cars/brands")
+                        .retrieve()
+                        .onStatus(HttpStatusCode::isError, r -> r.bodyToMono(String.class)
+                                .flatMap(body -> Mono.error(new RuntimeException(
+                                        "Failed to fetch brands from FIPE API. HTTP Status: " + r.statusCode()))))
+                        .bodyToFlux(DataBuffer.class)
+                        .transform(body -> CodeNameJsonDecoder.decode(body, FipeBrandDTO::new, null)))));
+    }
+
     public List<FipeModelDTO> getModelsByBrand(String brandCode) {
         try {
-            return webClient
-                    .get()
-                    .uri("/cars/brands/{code}/models", brandCode)
-                    .retrieve()
-                    .onStatus(
-                            HttpStatusCode::is4xxClientError,
-                            r -> Mono.error(new RuntimeException(
-                                    "Invalid brand code '" + brandCode + "'. Unable to fetch models.")))
-                    .onStatus(
-                            HttpStatusCode::is5xxServerError,
-                            r -> Mono.error(new RuntimeException(
-                                    "FIPE API server error while fetching models for brand '" + brandCode + "'.")))
-                    .bodyToFlux(FipeModelDTO.class)
-                    .collectList()
-                    .block();
+            return fetchModelsByBrand(brandCode).collectList().block();
 
         } catch (WebClientResponseException ex) {
             throw new RuntimeException("API response error " + ex.getStatusCode()
@@ -71,19 +86,30 @@ public class FipeClient {
         }
     }
 
+    public Flux<FipeModelDTO> fetchModelsByBrand(String brandCode) {
+        String key = TieredResponseCache.key("models", brandCode);
+        return cache.cachedFlux(
+                key,
+                FipeModelDTO.class,
+                () -> singleFlight.executeMany(key, () -> metrics.timeCall("models", webClient
+                        .get()
+                        .uri("/cars/brands/{code}/models", brandCode)
+                        .retrieve()
+                        .onStatus(
+                                FipeClient::isInvalidRequest,
+                                r -> Mono.error(new FipeClientErrorException(r.statusCode(),
+                                        "Invalid brand code '" + brandCode + "'. Unable to fetch models.")))
+                        .onStatus(
+                                HttpStatusCode::is5xxServerError,
+                                r -> Mono.error(new RuntimeException(
+                                        "FIPE API server error while fetching models for brand '" + brandCode + "'.")))
+                        .bodyToFlux(DataBuffer.class)
+                        .transform(body -> CodeNameJsonDecoder.decode(body, FipeModelDTO::new, null)))));
+    }
+
     public List<VehicleFuelDTO> getYearsByAllModels(String brandCode) {
         try {
-            return webClient
-                    .get()
-                    .uri("/cars/brands/{brandId}/years", brandCode)
-                    .retrieve()
-                    .onStatus(
-                            HttpStatusCode::isError,
-                            r -> Mono.error(new RuntimeException("Unable to retrieve years for brand '" + brandCode
-                                    + "'. HTTP Status: " + r.statusCode())))
-                    .bodyToFlux(VehicleFuelDTO.class)
-                    .collectList()
-                    .block();
+            return fetchYearsByAllModels(brandCode).collectList().block();
 
         } catch (WebClientResponseException ex) {
             throw new RuntimeException("FIPE API error " + ex.getStatusCode()
@@ -95,23 +121,30 @@ public class FipeClient {
         }
     }
 
+    public Flux<VehicleFuelDTO> fetchYearsByAllModels(String brandCode) {
+        String key = TieredResponseCache.key("brand-years", brandCode);
+        return cache.cachedFlux(
+                key,
+                VehicleFuelDTO.class,
+                () -> singleFlight.executeMany(key, () -> metrics.timeCall("years", webClient
+                        .get()
+                        .uri("/cars/brands/{brandId}/years", brandCode)
+                        .retrieve()
+                        .onStatus(
+                                FipeClient::isInvalidRequest,
+                                r -> Mono.error(new FipeClientErrorException(r.statusCode(), "Unable to retrieve years "
+                                        + "for brand '" + brandCode + "'. HTTP Status: " + r.statusCode())))
+                        .onStatus(
+                                HttpStatusCode::is5xxServerError,
+                                r -> Mono.error(new RuntimeException("Unable to retrieve years for brand '" + brandCode
+                                        + "'. HTTP Status: " + r.statusCode())))
+                        .bodyToFlux(DataBuffer.class)
+                        .transform(body -> CodeNameJsonDecoder.decode(body, VehicleFuelDTO::new, yearValues)))));
+    }
+
     public List<FipeYearDTO> getYearsByModel(String brandCode, String modelCode) {
         try {
-            return webClient
-                    .get()
-                    .uri("/cars/brands/{brandId}/models/{modelId}/years", brandCode, modelCode)
-                    .retrieve()
-                    .onStatus(
-                            HttpStatusCode::is4xxClientError,
-                            r -> Mono.error(new RuntimeException("Invalid brand or model code. Brand: '" + brandCode
-                                    + "', Model: '" + modelCode + "'.")))
-                    .onStatus(
-                            HttpStatusCode::is5xxServerError,
-                            r -> Mono.error(new RuntimeException(
-                                    "FIPE API server error while retrieving years for model " + modelCode + ".")))
-                    .bodyToFlux(FipeYearDTO.class)
-                    .collectList()
-                    .block();
+            return fetchYearsByModel(brandCode, modelCode).collectList().block();
 
         } catch (WebClientResponseException ex) {
             throw new RuntimeException(
@@ -123,22 +156,30 @@ public class FipeClient {
         }
     }
 
+    public Flux<FipeYearDTO> fetchYearsByModel(String brandCode, String modelCode) {
+        String key = TieredResponseCache.key("model-years", brandCode, modelCode);
+        return cache.cachedFlux(
+                key,
+                FipeYearDTO.class,
+                () -> singleFlight.executeMany(key, () -> metrics.timeCall("years", webClient
+                        .get()
+                        .uri("/cars/brands/{brandId}/models/{modelId}/years", brandCode, modelCode)
+                        .retrieve()
+                        .onStatus(
+                                FipeClient::isInvalidRequest,
+                                r -> Mono.error(new FipeClientErrorException(r.statusCode(), "Invalid brand or model "
+                                        + "code. Brand: '" + brandCode + "', Model: '" + modelCode + "'.")))
+                        .onStatus(
+                                HttpStatusCode::is5xxServerError,
+                                r -> Mono.error(new RuntimeException(
+                                        "FIPE API server error while retrieving years for model " + modelCode + ".")))
+                        .bodyToFlux(DataBuffer.class)
+                        .transform(body -> CodeNameJsonDecoder.decode(body, FipeYearDTO::new, yearValues)))));
+    }
+
     public FipePriceDTO getPriceByYear(String brandCode, String modelCode, String yearCode) {
         try {
-            return webClient
-                    .get()
-                    .uri("/cars/brands/{brandId}/models/{modelId}/years/{yearId}", brandCode, modelCode, yearCode)
-                    .retrieve()
-                    .onStatus(
-                            HttpStatusCode::is4xxClientError,
-                            r -> Mono.error(new RuntimeException("Invalid parameters provided. Brand: '" + brandCode
-                                    + "', Model: '" + modelCode
-                                    + "', Year: '" + yearCode + "'.")))
-                    .onStatus(
-                            HttpStatusCode::is5xxServerError,
-                            r -> Mono.error(new RuntimeException("FIPE API server error while retrieving price data.")))
-                    .bodyToMono(FipePriceDTO.class)
-                    .block();
+            return fetchPriceByYear(brandCode, modelCode, yearCode).block();
 
         } catch (WebClientResponseException ex) {
             throw new RuntimeException("API error " + ex.getStatusCode() + " while retrieving price information.");
@@ -149,24 +190,102 @@ public class FipeClient {
         }
     }
 
+    public Mono<FipePriceDTO> fetchPriceByYear(String brandCode, String modelCode, String yearCode) {
+        String key = TieredResponseCache.key("price", brandCode, modelCode, yearCode);
+        return priceCache.get(key, () -> requestPrice(key, brandCode, modelCode, yearCode));
+    }
+
+    /** Speculative lookup: the price is kept in the warm cache for the foreground lookup that may follow. */
+    public Mono<FipePriceDTO> warmPriceByYear(String brandCode, String modelCode, String yearCode) {
+        String key = TieredResponseCache.key("price", brandCode, modelCode, yearCode);
+        return priceCache.warm(key, () -> requestPrice(key, brandCode, modelCode, yearCode));
+    }
+
+    private Mono<FipePriceDTO> requestPrice(String key, String brandCode, String modelCode, String yearCode) {
+        return singleFlight.execute(
+                key,
+                () -> metrics.timeCall("price", webClient
+                        .get()
+                        .uri("/cars/brands/{brandId}/models/{modelId}/years/{yearId}", brandCode, modelCode, yearCode)
+                        .retrieve()
+                        .onStatus(
+                                FipeClient::isInvalidRequest,
+                                r -> Mono.error(invalidPriceParameters(r.statusCode(), brandCode, modelCode, yearCode)))
+                        .onStatus(
+                                HttpStatusCode::is5xxServerError,
+                                r -> Mono.error(new RuntimeException(
+                                        "FIPE API server error while retrieving price data.")))
+                        .bodyToMono(FipePriceDTO.class)));
+    }
+
+    public Mono<FipePriceDTO> fetchPriceByYear(
+            String brandCode, String modelCode, String yearCode, String referenceCode) {
+        return singleFlight.execute(
+                TieredResponseCache.key("price", brandCode, modelCode, yearCode, referenceCode),
+                () -> metrics.timeCall("price", webClient
+                        .get()
+                        .uri(
+                                "/cars/brands/{brandId}/models/{modelId}/years/{yearId}?reference={reference}",
+                                brandCode, modelCode, yearCode, referenceCode)
+                        .retrieve()
+                        .onStatus(
+                                FipeClient::isInvalidRequest,
+                                r -> Mono.error(invalidPriceParameters(r.statusCode(), brandCode, modelCode, yearCode)))
+                        .onStatus(
+                                HttpStatusCode::is5xxServerError,
+                                r -> Mono.error(new RuntimeException("FIPE API server error while retrieving price "
+                                        + "data for reference " + referenceCode + ".")))
+                        .bodyToMono(FipePriceDTO.class)));
+    }
+
+    public Flux<FipeReferenceDTO> fetchReferences() {
+        String key = TieredResponseCache.key("references");
+        return cache.cachedFlux(
+                key,
+                FipeReferenceDTO.class,
+                () -> singleFlight.executeMany(key, () -> metrics.timeCall("references", webClient
+                        .get()
+                        .uri("/references")
+                        .retrieve()
+                        .onStatus(
+                                HttpStatusCode::isError,
+                                r -> Mono.error(new RuntimeException(
+                                        "Unable to retrieve FIPE reference months. HTTP Status: " + r.statusCode())))
+                        .bodyToFlux(FipeReferenceDTO.class))));
+    }
+
+    /** Conditional list fetch that bypasses the response cache and returns the raw body for hashing. */
+    public Mono<ConditionalResponse> fetchIfChanged(
+            String uriTemplate, String etag, String lastModified, Object... uriVariables) {
+        return metrics.timeCall(FipeMetrics.endpointOf(uriTemplate), webClient
+                .get()
+                .uri(uriTemplate, uriVariables)
+                .headers(headers -> {
+                    if (etag != null) {
+                        headers.setIfNoneMatch(etag);
+                    }
+                    if (lastModified != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        return response.releaseBody().thenReturn(ConditionalResponse.unchanged());
+                    }
+                    if (response.statusCode().isError()) {
+                        return response.createError();
+                    }
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    return response.bodyToMono(byte[].class)
+                            .defaultIfEmpty(new byte[0])
+                            .map(body -> ConditionalResponse.modified(
+                                    body, headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED)));
+                }));
+    }
+
     public List<VehicleModelsDTO> getModelsByBrandAndYear(String brandId, String yearCode) {
         try {
-            return webClient
-                    .get()
-                    .uri("/cars/brands/{brandId}/years/{yearId}/models", brandId, yearCode)
-                    .retrieve()
-                    .onStatus(HttpStatusCode::is4xxClientError, r -> r.bodyToMono(String.class)
-                            .flatMap(body -> Mono.error(new RuntimeException(String.format(
-                                    "Resource not found or invalid parameters: Brand ID '%s' or Year '%s' "
-                                            + "might be incorrect. (HTTP %s)",
-                                    brandId, yearCode, r.statusCode())))))
-                    .onStatus(
-                            HttpStatusCode::is5xxServerError,
-                            r -> Mono.error(new RuntimeException(
-                                    "FIPE API server error while fetching models for the given year.")))
-                    .bodyToFlux(VehicleModelsDTO.class)
-                    .collectList()
-                    .block();
+            return fetchModelsByBrandAndYear(brandId, yearCode).collectList().block();
 
         } catch (WebClientResponseException ex) {
             throw new RuntimeException(
@@ -178,4 +297,38 @@ public class FipeClient {
             throw new RuntimeException("Unexpected internal error while fetching models: " + ex.getMessage());
         }
     }
+
+    public Flux<VehicleModelsDTO> fetchModelsByBrandAndYear(String brandId, String yearCode) {
+        String key = TieredResponseCache.key("year-models", brandId, yearCode);
+        return cache.cachedFlux(
+                key,
+                VehicleModelsDTO.class,
+                () -> singleFlight.executeMany(key, () -> metrics.timeCall("models", webClient
+                        .get()
+                        .uri("/cars/brands/{brandId}/years/{yearId}/models", brandId, yearCode)
+                        .retrieve()
+                        .onStatus(FipeClient::isInvalidRequest, r -> r.bodyToMono(String.class)
+                                .flatMap(body -> Mono.error(new FipeClientErrorException(r.statusCode(), String.format(
+                                        "Resource not found or invalid parameters: Brand ID '%s' or Year '%s' "
+                                                + "might be incorrect. (HTTP %s)",
+                                        brandId, yearCode, r.statusCode())))))
+                        .onStatus(
+                                HttpStatusCode::is5xxServerError,
+                                r -> Mono.error(new RuntimeException(
+                                        "FIPE API server error while fetching models for the given year.")))
+                        .bodyToFlux(DataBuffer.class)
+                        .transform(body -> CodeNameJsonDecoder.decode(body, VehicleModelsDTO::new, null)))));
+    }
+
+    // Exhausted 429s surface as FipeRateLimitedException from the resilience filter, never as a bad parameter.
+    private static boolean isInvalidRequest(HttpStatusCode status) {
+        return status.is4xxClientError() && status.value() != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private static FipeClientErrorException invalidPriceParameters(
+            HttpStatusCode status, String brandCode, String modelCode, String yearCode) {
+        return new FipeClientErrorException(status, "Invalid parameters provided. Brand: '" + brandCode
+                + "', Model: '" + modelCode
+                + "', Year: '" + yearCode + "'.");
+    }
 }
@@ -0,0 +1,17 @@
+package br.com.fipe.fipepriceexplorer.client;
+
+import org.springframework.http.HttpStatusCode;
+
+public class FipeClientErrorException extends RuntimeException {
+
+    private final HttpStatusCode statusCode;
+
+    public FipeClientErrorException(HttpStatusCode statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public HttpStatusCode getStatusCode() {
+        return statusCode;
+    }
+}
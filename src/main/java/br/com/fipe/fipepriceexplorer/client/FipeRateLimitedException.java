@@ -0,0 +1,17 @@
+package br.com.fipe.fipepriceexplorer.client;
+
+import java.time.Duration;
+
+public class FipeRateLimitedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public FipeRateLimitedException(Duration retryAfter) {
+        super("FIPE API is throttling requests; try again in " + Math.max(1, retryAfter.toSeconds()) + "s.");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
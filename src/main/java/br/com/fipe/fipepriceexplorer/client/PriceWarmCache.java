@@ -0,0 +1,107 @@
+package br.com.fipe.fipepriceexplorer.client;
+
+import br.com.fipe.fipepriceexplorer.dto.FipePriceDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/** Short-lived LRU of successful price lookups warmed speculatively. */
+@Component
+public class PriceWarmCache {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Map<String, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+
+    public PriceWarmCache(
+            @Value("${fipe.prefetch.price-cache-size:512}") int maxEntries,
+            @Value("${fipe.prefetch.price-ttl:10m}") Duration ttl) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PriceWarmCache.this.maxEntries;
+            }
+        };
+    }
+
+    /** Serves a live warmed entry, or runs the lookup without keeping its result. */
+    public Mono<FipePriceDTO> get(String key, Supplier<Mono<FipePriceDTO>> loader) {
+        if (maxEntries == 0 || ttl.isZero()) {
+            return Mono.defer(loader);
+        }
+
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.isLive()) {
+                hits.increment();
+                return entry.price;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        return Mono.defer(loader);
+    }
+
+    /** Starts a speculative lookup whose price stays available to {@link #get} for the TTL. */
+    public Mono<FipePriceDTO> warm(String key, Supplier<Mono<FipePriceDTO>> loader) {
+        if (maxEntries == 0 || ttl.isZero()) {
+            return Mono.defer(loader);
+        }
+
+        synchronized (entries) {
+            Entry existing = entries.get(key);
+            if (existing != null && existing.isLive()) {
+                return existing.price;
+            }
+
+            // Errors and empty answers are dropped, so the foreground lookup makes the call itself.
+            Entry entry = new Entry();
+            entry.price = Mono.defer(loader)
+                    .doOnNext(price -> entry.expiresAt = System.nanoTime() + ttl.toNanos())
+                    .doOnError(ex -> evict(key, entry))
+                    .switchIfEmpty(Mono.fromRunnable(() -> evict(key, entry)))
+                    .cache();
+            entries.put(key, entry);
+            return entry.price;
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private void evict(String key, Entry entry) {
+        synchronized (entries) {
+            entries.remove(key, entry);
+        }
+    }
+
+    private static final class Entry {
+        private static final long IN_FLIGHT = Long.MAX_VALUE;
+
+        // Joining a lookup that is still in flight counts as a hit too.
+        private volatile long expiresAt = IN_FLIGHT;
+        private Mono<FipePriceDTO> price;
+
+        boolean isLive() {
+            long expiry = expiresAt;
+            return expiry == IN_FLIGHT || System.nanoTime() - expiry < 0;
+        }
+    }
+}
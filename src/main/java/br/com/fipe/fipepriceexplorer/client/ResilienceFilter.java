@@ -0,0 +1,169 @@
+package br.com.fipe.fipepriceexplorer.client;
+
+import br.com.fipe.fipepriceexplorer.config.ResilienceProperties;
+import br.com.fipe.fipepriceexplorer.metrics.FipeMetrics;
+import br.com.fipe.fipepriceexplorer.metrics.MetricsFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class ResilienceFilter implements ExchangeFilterFunction {
+
+    private final ResilienceProperties properties;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final FipeMetrics metrics;
+
+    public ResilienceFilter(ResilienceProperties properties, FipeMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+        this.rateLimiter = new AdaptiveRateLimiter(
+                properties.requestsPerSecond(),
+                properties.minRequestsPerSecond(),
+                properties.maxRequestsPerSecond());
+        this.circuitBreaker =
+                new CircuitBreaker(properties.breakerFailureThreshold(), properties.breakerOpenDuration());
+    }
+
+    public AdaptiveRateLimiter rateLimiter() {
+        return rateLimiter;
+    }
+
+    public CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String endpoint = MetricsFilter.endpointOf(request);
+        Mono<ClientResponse> attempt = Mono.defer(() -> exchangeOnce(request, next, endpoint));
+
+        if (!HttpMethod.GET.equals(request.method()) || properties.maxRetries() <= 0) {
+            return attempt.onErrorResume(RetryableResponseException.class, ResilienceFilter::exhausted);
+        }
+
+        return attempt
+                .retryWhen(Retry.backoff(properties.maxRetries(), properties.initialBackoff())
+                        .maxBackoff(properties.maxBackoff())
+                        .jitter(properties.jitter())
+                        .filter(ResilienceFilter::isRetryable)
+                        .doBeforeRetry(signal -> metrics.recordRetry(endpoint, retryReason(signal.failure())))
+                        .doBeforeRetryAsync(signal -> signal.failure() instanceof RetryableResponseException ex
+                                ? ex.response().releaseBody()
+                                : Mono.empty())
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .onErrorResume(RetryableResponseException.class, ResilienceFilter::exhausted);
+    }
+
+    private Mono<ClientResponse> exchangeOnce(ClientRequest request, ExchangeFunction next, String endpoint) {
+        if (!circuitBreaker.tryAcquire()) {
+            return Mono.error(new CircuitOpenException(circuitBreaker.remainingOpenTime()));
+        }
+
+        AtomicBoolean settled = new AtomicBoolean();
+
+        return rateLimiter.acquire()
+                .then(next.exchange(request))
+                .doOnError(ex -> {
+                    settled.set(true);
+                    circuitBreaker.onFailure();
+                })
+                .flatMap(response -> {
+                    if (response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                        // Throttling says nothing about the server's health; the breaker is left as it is.
+                        Duration retryAfter = retryAfter(response);
+                        rateLimiter.onThrottled(retryAfter);
+                        metrics.recordThrottled(endpoint);
+                        return Mono.error(new RetryableResponseException(response, retryAfter));
+                    }
+                    settled.set(true);
+                    if (response.statusCode().is5xxServerError()) {
+                        circuitBreaker.onFailure();
+                        return Mono.error(new RetryableResponseException(response, null));
+                    }
+                    circuitBreaker.onSuccess();
+                    rateLimiter.onSuccess();
+                    return Mono.just(response);
+                })
+                .doFinally(signal -> {
+                    if (!settled.get()) {
+                        circuitBreaker.releaseTrial();
+                    }
+                });
+    }
+
+    private Duration retryAfter(ClientResponse response) {
+        String value = response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return properties.defaultRetryAfter();
+        }
+
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException ignored) {
+            // Retry-After may also be an HTTP date.
+        }
+
+        try {
+            Duration untilDate = Duration.between(
+                    ZonedDateTime.now(), ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+            return untilDate.isNegative() ? Duration.ZERO : untilDate;
+        } catch (DateTimeParseException ex) {
+            return properties.defaultRetryAfter();
+        }
+    }
+
+    // A 5xx is handed back to the caller's status handlers; a 429 would read as an invalid request there.
+    private static Mono<ClientResponse> exhausted(RetryableResponseException ex) {
+        if (ex.retryAfter() == null) {
+            return Mono.just(ex.response());
+        }
+        return ex.response().releaseBody().then(Mono.error(new FipeRateLimitedException(ex.retryAfter())));
+    }
+
+    private static String retryReason(Throwable ex) {
+        if (ex instanceof RetryableResponseException retryable) {
+            int status = retryable.response().statusCode().value();
+            return status == HttpStatus.TOO_MANY_REQUESTS.value() ? "throttled" : "server_error";
+        }
+        return "io_error";
+    }
+
+    private static boolean isRetryable(Throwable ex) {
+        return ex instanceof RetryableResponseException || ex instanceof WebClientRequestException;
+    }
+
+    private static class RetryableResponseException extends RuntimeException {
+        private final transient ClientResponse response;
+        private final Duration retryAfter;
+
+        RetryableResponseException(ClientResponse response, Duration retryAfter) {
+            super("Retryable FIPE API response: HTTP " + response.statusCode().value(), null, false, false);
+            this.response = response;
+            this.retryAfter = retryAfter;
+        }
+
+        ClientResponse response() {
+            return response;
+        }
+
+        Duration retryAfter() {
+            return retryAfter;
+        }
+    }
+}
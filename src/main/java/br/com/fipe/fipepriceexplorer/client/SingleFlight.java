@@ -0,0 +1,62 @@
+package br.com.fipe.fipepriceexplorer.client;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+public class SingleFlight {
+
+    private final ConcurrentHashMap<String, Object> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            AtomicReference<Mono<T>> self = new AtomicReference<>();
+            Mono<T> flight = Mono.defer(call)
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(flight);
+
+            Object existing = inFlight.putIfAbsent(key, flight);
+            if (existing != null) {
+                coalesced.increment();
+                return (Mono<T>) existing;
+            }
+            return flight;
+        });
+    }
+
+    // Joiners get the elements decoded so far replayed, then the rest as they arrive.
+    @SuppressWarnings("unchecked")
+    public <T> Flux<T> executeMany(String key, Supplier<Flux<T>> call) {
+        return Flux.defer(() -> {
+            AtomicReference<Flux<T>> self = new AtomicReference<>();
+            Flux<T> flight = Flux.defer(call)
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(flight);
+
+            Object existing = inFlight.putIfAbsent(key, flight);
+            if (existing != null) {
+                coalesced.increment();
+                return (Flux<T>) existing;
+            }
+            return flight;
+        });
+    }
+
+    public long coalescedCalls() {
+        return coalesced.sum();
+    }
+
+    public int inFlightCalls() {
+        return inFlight.size();
+    }
+}
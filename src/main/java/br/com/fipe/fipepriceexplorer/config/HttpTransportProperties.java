@@ -0,0 +1,36 @@
+package br.com.fipe.fipepriceexplorer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "fipe.http")
+public record HttpTransportProperties(
+        @DefaultValue("50") int maxConnections,
+        @DefaultValue("10s") Duration pendingAcquireTimeout,
+        @DefaultValue("30s") Duration maxIdleTime,
+        @DefaultValue("5m") Duration maxLifeTime,
+        @DefaultValue("30s") Duration evictInBackground,
+        @DefaultValue("5s") Duration connectTimeout,
+        @DefaultValue("15s") Duration responseTimeout,
+        @DefaultValue("15s") Duration readTimeout,
+        @DefaultValue("true") boolean compression,
+        @DefaultValue({"H2", "HTTP11"}) List<HttpProtocol> protocols) {
+
+    public static HttpTransportProperties defaults() {
+        return new HttpTransportProperties(
+                50,
+                Duration.ofSeconds(10),
+                Duration.ofSeconds(30),
+                Duration.ofMinutes(5),
+                Duration.ofSeconds(30),
+                Duration.ofSeconds(5),
+                Duration.ofSeconds(15),
+                Duration.ofSeconds(15),
+                true,
+                List.of(HttpProtocol.H2, HttpProtocol.HTTP11));
+    }
+}
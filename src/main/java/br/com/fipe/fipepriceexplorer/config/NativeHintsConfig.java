@@ -0,0 +1,52 @@
+package br.com.fipe.fipepriceexplorer.config;
+
+import br.com.fipe.fipepriceexplorer.batch.BatchQuery;
+import br.com.fipe.fipepriceexplorer.batch.BatchResult;
+import br.com.fipe.fipepriceexplorer.crawler.CatalogPriceRecord;
+import br.com.fipe.fipepriceexplorer.dto.FipeBrandDTO;
+import br.com.fipe.fipepriceexplorer.dto.FipeModelDTO;
+import br.com.fipe.fipepriceexplorer.dto.FipePriceDTO;
+import br.com.fipe.fipepriceexplorer.dto.FipeReferenceDTO;
+import br.com.fipe.fipepriceexplorer.dto.FipeYearDTO;
+import br.com.fipe.fipepriceexplorer.dto.PriceCentavosDeserializer;
+import br.com.fipe.fipepriceexplorer.dto.VehicleFuelDTO;
+import br.com.fipe.fipepriceexplorer.dto.VehicleModelsDTO;
+import br.com.fipe.fipepriceexplorer.refresh.CatalogManifest;
+import br.com.fipe.fipepriceexplorer.refresh.ListEntry;
+import br.com.fipe.fipepriceexplorer.refresh.ListState;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/** Jackson binds these types reflectively, so the AOT engine cannot discover them on its own. */
+@Configuration(proxyBeanMethods = false)
+@RegisterReflectionForBinding({
+    FipeBrandDTO.class,
+    FipeModelDTO.class,
+    FipeYearDTO.class,
+    FipePriceDTO.class,
+    FipeReferenceDTO.class,
+    VehicleFuelDTO.class,
+    VehicleModelsDTO.class,
+    CatalogPriceRecord.class,
+    BatchQuery.class,
+    BatchResult.class,
+    CatalogManifest.class,
+    ListState.class,
+    ListEntry.class
+})
+@ImportRuntimeHints(NativeHintsConfig.FipeRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class FipeRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Instantiated by Jackson from @JsonDeserialize(using = ...).
+            hints.reflection().registerType(PriceCentavosDeserializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
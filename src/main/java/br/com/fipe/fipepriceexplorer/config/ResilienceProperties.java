@@ -0,0 +1,19 @@
+package br.com.fipe.fipepriceexplorer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "fipe.resilience")
+public record ResilienceProperties(
+        @DefaultValue("5") double requestsPerSecond,
+        @DefaultValue("0.5") double minRequestsPerSecond,
+        @DefaultValue("20") double maxRequestsPerSecond,
+        @DefaultValue("3") int maxRetries,
+        @DefaultValue("200ms") Duration initialBackoff,
+        @DefaultValue("5s") Duration maxBackoff,
+        @DefaultValue("0.5") double jitter,
+        @DefaultValue("1s") Duration defaultRetryAfter,
+        @DefaultValue("5") int breakerFailureThreshold,
+        @DefaultValue("30s") Duration breakerOpenDuration) {}
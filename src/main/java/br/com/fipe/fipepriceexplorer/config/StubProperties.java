@@ -0,0 +1,22 @@
+package br.com.fipe.fipepriceexplorer.config;
+
+import br.com.fipe.fipepriceexplorer.replay.LatencyDistribution;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "fipe.stub")
+public record StubProperties(
+        @DefaultValue("fipe-recordings") Path dir,
+        @DefaultValue("127.0.0.1") String host,
+        @DefaultValue("8089") int port,
+        @DefaultValue("LOGNORMAL") LatencyDistribution latency,
+        @DefaultValue("40ms") Duration latencyMedian,
+        @DefaultValue("400ms") Duration latencyP99,
+        @DefaultValue("0") double errorRate,
+        @DefaultValue("0s") Duration throttleEvery,
+        @DefaultValue("2s") Duration throttleFor,
+        @DefaultValue("1s") Duration retryAfter,
+        @DefaultValue("0") long seed) {}
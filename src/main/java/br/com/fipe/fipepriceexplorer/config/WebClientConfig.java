@@ -1,15 +1,75 @@
 package br.com.fipe.fipepriceexplorer.config;
 
+import br.com.fipe.fipepriceexplorer.client.ResilienceFilter;
+import br.com.fipe.fipepriceexplorer.metrics.FipeMetrics;
+import br.com.fipe.fipepriceexplorer.metrics.MetricsFilter;
+import br.com.fipe.fipepriceexplorer.replay.RecordingFilter;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
+@EnableConfigurationProperties({HttpTransportProperties.class, ResilienceProperties.class, StubProperties.class})
 public class WebClientConfig {
-    private static final String FIPE_BASE_URL = "https://fipe.parallelum.com.br/api/v2";
+
+    private static final String READ_TIMEOUT_HANDLER = "fipeReadTimeout";
 
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder().baseUrl(FIPE_BASE_URL).build();
+    public WebClient webClient(
+            @Value("${fipe.api.base-url:https://fipe.parallelum.com.br/api/v2}") String baseUrl,
+            @Value("${fipe.record.dir:}") String recordDir,
+            HttpTransportProperties http,
+            ResilienceFilter resilienceFilter,
+            FipeMetrics metrics) {
+        // Metrics sit inside the resilience filter so every attempt, including retries, is timed separately.
+        // The recorder is innermost and only keeps the successful attempt of each call.
+        List<ExchangeFilterFunction> filters = new ArrayList<>(List.of(resilienceFilter, new MetricsFilter(metrics)));
+        if (!recordDir.isBlank()) {
+            filters.add(new RecordingFilter(Path.of(recordDir), baseUrl));
+        }
+        return createWebClient(baseUrl, http, filters.toArray(ExchangeFilterFunction[]::new));
+    }
+
+    public static WebClient createWebClient(
+            String baseUrl, HttpTransportProperties http, ExchangeFilterFunction... filters) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("fipe")
+                .maxConnections(http.maxConnections())
+                .pendingAcquireTimeout(http.pendingAcquireTimeout())
+                .maxIdleTime(http.maxIdleTime())
+                .maxLifeTime(http.maxLifeTime())
+                .evictInBackground(http.evictInBackground())
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(http.protocols().toArray(HttpProtocol[]::new))
+                .compress(http.compression())
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) http.connectTimeout().toMillis())
+                .responseTimeout(http.responseTimeout())
+                // Bounds gaps while a body streams in; added per request so idle pooled connections are not timed out.
+                .doOnRequest((request, connection) -> connection.addHandlerLast(
+                        READ_TIMEOUT_HANDLER,
+                        new ReadTimeoutHandler(http.readTimeout().toMillis(), TimeUnit.MILLISECONDS)))
+                .doAfterResponseSuccess((response, connection) -> connection.removeHandler(READ_TIMEOUT_HANDLER));
+
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filters(list -> list.addAll(List.of(filters)))
+                .build();
     }
 }
@@ -0,0 +1,137 @@
+package br.com.fipe.fipepriceexplorer.crawler;
+
+import br.com.fipe.fipepriceexplorer.client.FipeClient;
+import br.com.fipe.fipepriceexplorer.dto.FipeBrandDTO;
+import br.com.fipe.fipepriceexplorer.dto.FipeModelDTO;
+import br.com.fipe.fipepriceexplorer.dto.FipeYearDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+@Component
+public class CatalogCrawler {
+
+    private final FipeClient fipeClient;
+    private final JsonMapper jsonMapper;
+    private final int concurrency;
+
+    public CatalogCrawler(
+            FipeClient fipeClient,
+            JsonMapper jsonMapper,
+            @Value("${fipe.crawl.concurrency:4}") int concurrency) {
+        this.fipeClient = fipeClient;
+        this.jsonMapper = jsonMapper;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    public CrawlSummary crawl(Path output, LongConsumer onSaved) {
+        AtomicLong saved = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+
+        try (CrawlCheckpoint checkpoint = CrawlCheckpoint.open(jsonMapper, output)) {
+            Crawl crawl = new Crawl(checkpoint, saved, failed, onSaved);
+
+            fipeClient.fetchCarsBrands()
+                    .concatMap(crawl::crawlBrand)
+                    .then()
+                    .block();
+            if (crawl.incompleteBrands.get() == 0) {
+                checkpoint.markCatalogDone();
+            }
+
+            return new CrawlSummary(saved.get(), checkpoint.resumedPrices() - saved.get(), failed.get());
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to close crawl checkpoint at " + output + ".", ex);
+        }
+    }
+
+    private class Crawl {
+        private final CrawlCheckpoint checkpoint;
+        private final AtomicLong saved;
+        private final AtomicLong failed;
+        private final LongConsumer onSaved;
+        private final AtomicLong incompleteBrands = new AtomicLong();
+
+        Crawl(CrawlCheckpoint checkpoint, AtomicLong saved, AtomicLong failed, LongConsumer onSaved) {
+            this.checkpoint = checkpoint;
+            this.saved = saved;
+            this.failed = failed;
+            this.onSaved = onSaved;
+        }
+
+        Mono<Void> crawlBrand(FipeBrandDTO brand) {
+            AtomicLong incompleteModels = new AtomicLong();
+
+            return fipeClient.fetchModelsByBrand(brand.getCode())
+                    .filter(model -> !checkpoint.isModelDone(brand.getCode(), model.getCode()))
+                    .flatMap(model -> crawlModel(brand, model, incompleteModels), concurrency)
+                    .then(Mono.fromRunnable(() -> {
+                        if (incompleteModels.get() == 0) {
+                            checkpoint.markBrandDone(brand.getCode());
+                        } else {
+                            incompleteBrands.incrementAndGet();
+                        }
+                    }))
+                    .onErrorResume(ex -> {
+                        failed.incrementAndGet();
+                        incompleteBrands.incrementAndGet();
+                        return Mono.empty();
+                    })
+                    .then();
+        }
+
+        Mono<Void> crawlModel(FipeBrandDTO brand, FipeModelDTO model, AtomicLong incompleteModels) {
+            AtomicLong modelFailures = new AtomicLong();
+
+            return fipeClient.fetchYearsByModel(brand.getCode(), model.getCode())
+                    .filter(year -> !checkpoint.isPriceDone(brand.getCode(), model.getCode(), year.getYear()))
+                    // Models already fan out; one year at a time keeps the crawl within fipe.crawl.concurrency.
+                    .concatMap(year -> crawlPrice(brand, model, year, modelFailures))
+                    .then(Mono.fromRunnable(() -> {
+                        if (modelFailures.get() == 0) {
+                            checkpoint.markModelDone(brand.getCode(), model.getCode());
+                        } else {
+                            incompleteModels.incrementAndGet();
+                        }
+                    }))
+                    .onErrorResume(ex -> {
+                        failed.incrementAndGet();
+                        incompleteModels.incrementAndGet();
+                        return Mono.empty();
+                    })
+                    .then();
+        }
+
+        Mono<Void> crawlPrice(FipeBrandDTO brand, FipeModelDTO model, FipeYearDTO year, AtomicLong modelFailures) {
+            return fipeClient.fetchPriceByYear(brand.getCode(), model.getCode(), year.getYear())
+                    .doOnNext(price -> {
+                        checkpoint.savePrice(new CatalogPriceRecord(
+                                brand.getCode(),
+                                brand.getName(),
+                                model.getCode(),
+                                model.getName(),
+                                year.getYear(),
+                                year.getTypeModel(),
+                                price.getModelYear(),
+                                price.getFuel(),
+                                price.getPriceCentavos(),
+                                price.getReferenceMonth()));
+                        onSaved.accept(saved.incrementAndGet());
+                    })
+                    .onErrorResume(ex -> {
+                        modelFailures.incrementAndGet();
+                        failed.incrementAndGet();
+                        return Mono.empty();
+                    })
+                    .then();
+        }
+    }
+}
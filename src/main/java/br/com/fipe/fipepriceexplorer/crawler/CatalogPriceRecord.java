@@ -0,0 +1,18 @@
+package br.com.fipe.fipepriceexplorer.crawler;
+
+public record CatalogPriceRecord(
+        String brandCode,
+        String brandName,
+        String modelCode,
+        String modelName,
+        String yearCode,
+        String yearName,
+        Integer modelYear,
+        String fuel,
+        long priceCentavos,
+        String referenceMonth) {
+
+    public String key() {
+        return CrawlCheckpoint.priceKey(brandCode, modelCode, yearCode);
+    }
+}
@@ -0,0 +1,189 @@
+package br.com.fipe.fipepriceexplorer.crawler;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CrawlCheckpoint implements Closeable {
+
+    // Lines of the .done file besides brand/model keys: a brand whose every model completed, and a full crawl.
+    private static final String BRAND_DONE = "brand:";
+    private static final String CATALOG_DONE = "catalog:complete";
+
+    private final JsonMapper jsonMapper;
+    private final Set<String> completedPrices = ConcurrentHashMap.newKeySet();
+    private final Set<String> completedModels = ConcurrentHashMap.newKeySet();
+    private final BufferedWriter priceWriter;
+    private final BufferedWriter modelWriter;
+
+    private CrawlCheckpoint(JsonMapper jsonMapper, Path output, Path modelsDone) throws IOException {
+        this.jsonMapper = jsonMapper;
+
+        loadPrices(output);
+        loadModels(modelsDone);
+
+        this.priceWriter = openForAppend(output);
+        this.modelWriter = openForAppend(modelsDone);
+    }
+
+    public static CrawlCheckpoint open(JsonMapper jsonMapper, Path output) {
+        try {
+            Path parent = output.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            return new CrawlCheckpoint(jsonMapper, output, doneFile(output));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to open crawl checkpoint at " + output + ".", ex);
+        }
+    }
+
+    /** Which brands of a crawl output are complete, for readers that must not trust a partial crawl. */
+    public static Coverage coverage(Path output) {
+        Path done = doneFile(output);
+        if (!Files.isRegularFile(done)) {
+            return new Coverage(false, Set.of());
+        }
+
+        try {
+            boolean complete = false;
+            Set<String> brands = new HashSet<>();
+            for (String line : Files.readAllLines(done, StandardCharsets.UTF_8)) {
+                if (line.startsWith(BRAND_DONE)) {
+                    brands.add(line.substring(BRAND_DONE.length()));
+                } else if (line.equals(CATALOG_DONE)) {
+                    complete = true;
+                }
+            }
+            return new Coverage(complete, Set.copyOf(brands));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read crawl checkpoint " + done + ".", ex);
+        }
+    }
+
+    public static String priceKey(String brandCode, String modelCode, String yearCode) {
+        return brandCode + "/" + modelCode + "/" + yearCode;
+    }
+
+    public static String modelKey(String brandCode, String modelCode) {
+        return brandCode + "/" + modelCode;
+    }
+
+    public int resumedPrices() {
+        return completedPrices.size();
+    }
+
+    public boolean isModelDone(String brandCode, String modelCode) {
+        return completedModels.contains(modelKey(brandCode, modelCode));
+    }
+
+    public boolean isPriceDone(String brandCode, String modelCode, String yearCode) {
+        return completedPrices.contains(priceKey(brandCode, modelCode, yearCode));
+    }
+
+    public synchronized void savePrice(CatalogPriceRecord record) {
+        if (!completedPrices.add(record.key())) {
+            return;
+        }
+        appendLine(priceWriter, jsonMapper.writeValueAsString(record));
+    }
+
+    public synchronized void markModelDone(String brandCode, String modelCode) {
+        if (completedModels.add(modelKey(brandCode, modelCode))) {
+            appendLine(modelWriter, modelKey(brandCode, modelCode));
+        }
+    }
+
+    public synchronized void markBrandDone(String brandCode) {
+        if (completedModels.add(BRAND_DONE + brandCode)) {
+            appendLine(modelWriter, BRAND_DONE + brandCode);
+        }
+    }
+
+    public synchronized void markCatalogDone() {
+        if (completedModels.add(CATALOG_DONE)) {
+            appendLine(modelWriter, CATALOG_DONE);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try (priceWriter; modelWriter) {
+            priceWriter.flush();
+            modelWriter.flush();
+        }
+    }
+
+    private void loadPrices(Path output) throws IOException {
+        if (!Files.exists(output)) {
+            return;
+        }
+
+        for (String line : Files.readAllLines(output, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                completedPrices.add(jsonMapper.readValue(line, CatalogPriceRecord.class).key());
+            } catch (RuntimeException ex) {
+                // A torn line from an interrupted run is simply fetched again.
+            }
+        }
+    }
+
+    private void loadModels(Path modelsDone) throws IOException {
+        if (!Files.exists(modelsDone)) {
+            return;
+        }
+
+        List<String> lines = Files.readAllLines(modelsDone, StandardCharsets.UTF_8);
+        lines.stream().filter(l -> !l.isBlank()).forEach(completedModels::add);
+    }
+
+    private static Path doneFile(Path output) {
+        return output.resolveSibling(output.getFileName() + ".done");
+    }
+
+    private static BufferedWriter openForAppend(Path file) throws IOException {
+        terminateTornLine(file);
+        return Files.newBufferedWriter(
+                file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static void terminateTornLine(Path file) throws IOException {
+        if (!Files.exists(file) || Files.size(file) == 0) {
+            return;
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(raf.length() - 1);
+            if (raf.read() != '\n') {
+                raf.write('\n');
+            }
+        }
+    }
+
+    private static void appendLine(BufferedWriter writer, String line) {
+        try {
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to write crawl checkpoint.", ex);
+        }
+    }
+
+    public record Coverage(boolean complete, Set<String> brands) {}
+}
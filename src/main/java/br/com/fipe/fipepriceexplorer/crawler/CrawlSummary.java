@@ -0,0 +1,3 @@
+package br.com.fipe.fipepriceexplorer.crawler;
+
+public record CrawlSummary(long saved, long resumed, long failed) {}
@@ -4,6 +4,13 @@ public class FipeBrandDTO {
     private String code;
     private String name;
 
+    public FipeBrandDTO() {}
+
+    public FipeBrandDTO(String code, String name) {
+        this.code = code;
+        this.name = name;
+    }
+
     public String getCode() {
         return code;
     }
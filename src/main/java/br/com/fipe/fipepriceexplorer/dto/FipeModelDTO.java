@@ -4,6 +4,13 @@ public class FipeModelDTO {
     private String code;
     private String name;
 
+    public FipeModelDTO() {}
+
+    public FipeModelDTO(String code, String name) {
+        this.code = code;
+        this.name = name;
+    }
+
     public String getCode() {
         return code;
     }
@@ -1,11 +1,18 @@
 package br.com.fipe.fipepriceexplorer.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import tools.jackson.databind.annotation.JsonDeserialize;
+
 public class FipePriceDTO {
     private String brand;
     private String fuel;
     private String model;
     private Integer modelYear;
-    private String price;
+    private String referenceMonth;
+
+    @JsonProperty("price")
+    @JsonDeserialize(using = PriceCentavosDeserializer.class)
+    private long priceCentavos;
 
     public String getBrand() {
         return brand;
@@ -23,7 +30,11 @@ public class FipePriceDTO {
         return modelYear;
     }
 
-    public String getPrice() {
-        return price;
+    public String getReferenceMonth() {
+        return referenceMonth;
+    }
+
+    public long getPriceCentavos() {
+        return priceCentavos;
     }
 }
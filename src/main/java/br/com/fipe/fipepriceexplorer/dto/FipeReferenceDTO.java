@@ -0,0 +1,9 @@
+package br.com.fipe.fipepriceexplorer.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record FipeReferenceDTO(
+        @JsonProperty("code") String code,
+        @JsonProperty("month") String month) {}
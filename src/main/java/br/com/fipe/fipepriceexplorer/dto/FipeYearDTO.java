@@ -11,6 +11,13 @@ public class FipeYearDTO {
     @JsonProperty("name")
     private String typeModel;
 
+    public FipeYearDTO() {}
+
+    public FipeYearDTO(String year, String typeModel) {
+        this.year = year;
+        this.typeModel = typeModel;
+    }
+
     public String getYear() {
         return year;
     }
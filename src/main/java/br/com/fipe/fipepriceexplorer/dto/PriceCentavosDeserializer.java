@@ -0,0 +1,27 @@
+package br.com.fipe.fipepriceexplorer.dto;
+
+import br.com.fipe.fipepriceexplorer.util.FipePriceFormat;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+
+public class PriceCentavosDeserializer extends ValueDeserializer<Long> {
+
+    @Override
+    public Long deserialize(JsonParser p, DeserializationContext ctxt) {
+        if (p.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return p.getLongValue();
+        }
+
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            return (Long) ctxt.handleUnexpectedToken(Long.class, p);
+        }
+
+        try {
+            return FipePriceFormat.parseCentavos(p.getStringCharacters(), p.getStringOffset(), p.getStringLength());
+        } catch (IllegalArgumentException ex) {
+            return (Long) ctxt.handleWeirdStringValue(Long.class, p.getString(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.fipe.fipepriceexplorer.execution;
+
+import java.util.Locale;
+
+public enum ExecutionMode {
+    /** Fan-out stays on the Reactor pipelines; callers only block once for the final result. */
+    REACTIVE,
+    /** Each lookup blocks on its own virtual thread. */
+    VIRTUAL,
+    /** Each lookup blocks on a thread of a bounded platform-thread pool. */
+    PLATFORM;
+
+    public static ExecutionMode parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            throw new IllegalArgumentException(
+                    "Unknown fipe.execution.mode '" + value + "'. Use reactive, virtual or platform.");
+        }
+    }
+}
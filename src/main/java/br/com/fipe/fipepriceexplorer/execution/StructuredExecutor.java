@@ -0,0 +1,107 @@
+package br.com.fipe.fipepriceexplorer.execution;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+
+/** Mirrors {@code StructuredTaskScope.ShutdownOnFailure}, which is still a preview API on Java 21. */
+@Component
+public class StructuredExecutor {
+
+    private final ExecutionMode mode;
+
+    public StructuredExecutor(@Value("${fipe.execution.mode:reactive}") String mode) {
+        this.mode = ExecutionMode.parse(mode);
+    }
+
+    public ExecutionMode mode() {
+        return mode;
+    }
+
+    public boolean isBlocking() {
+        return mode != ExecutionMode.REACTIVE;
+    }
+
+    /** Applies {@code task} to every input concurrently and returns the results in input order. */
+    @SuppressWarnings("unchecked")
+    public <T, R> List<R> invokeAll(List<T> inputs, int concurrency, Function<? super T, ? extends R> task) {
+        if (inputs.isEmpty()) {
+            return List.of();
+        }
+
+        // Slots are written by distinct subtasks; closing the scope publishes them to this thread.
+        Object[] results = new Object[inputs.size()];
+        fork(inputs.iterator(), concurrency, Math.min(concurrency, inputs.size()), (input, index) ->
+                results[index] = task.apply(input));
+        return (List<R>) Arrays.asList(results);
+    }
+
+    /** At most {@code concurrency} inputs are in flight; returns once every subtask has finished. */
+    public <T> void forEach(Iterable<T> inputs, int concurrency, Consumer<? super T> task) {
+        fork(inputs.iterator(), concurrency, concurrency, (input, index) -> task.accept(input));
+    }
+
+    private <T> void fork(Iterator<T> inputs, int concurrency, int poolSize, ObjIntConsumer<T> task) {
+        Semaphore permits = new Semaphore(Math.max(1, concurrency));
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        try (ExecutorService scope = openScope(poolSize)) {
+            for (int index = 0; inputs.hasNext() && failure.get() == null; index++) {
+                T input = inputs.next();
+                int position = index;
+
+                acquire(permits, scope);
+                try {
+                    scope.execute(() -> {
+                        try {
+                            task.accept(input, position);
+                        } catch (RuntimeException ex) {
+                            if (failure.compareAndSet(null, ex)) {
+                                scope.shutdownNow();
+                            }
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (RejectedExecutionException ex) {
+                    // A sibling failed and shut the scope down in the meantime.
+                    permits.release();
+                }
+            }
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private ExecutorService openScope(int poolSize) {
+        return switch (mode) {
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fipe-virtual-", 0).factory());
+            case PLATFORM -> Executors.newFixedThreadPool(
+                    Math.max(1, poolSize), Thread.ofPlatform().name("fipe-platform-", 0).factory());
+            case REACTIVE -> throw new IllegalStateException("Structured fan-out is not used in reactive mode.");
+        };
+    }
+
+    private static void acquire(Semaphore permits, ExecutorService scope) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            scope.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while forking FIPE lookups.", ex);
+        }
+    }
+}
@@ -0,0 +1,3 @@
+package br.com.fipe.fipepriceexplorer.history;
+
+public record BackfillSummary(long series, long saved, long alreadyStored, long unavailable, long failed) {}
@@ -0,0 +1,12 @@
+package br.com.fipe.fipepriceexplorer.history;
+
+public record Depreciation(SeriesKey key, PricePoint from, PricePoint to) {
+
+    public long lossCentavos() {
+        return from.priceCentavos() - to.priceCentavos();
+    }
+
+    public double lossRatio() {
+        return from.priceCentavos() == 0 ? 0 : (double) lossCentavos() / from.priceCentavos();
+    }
+}
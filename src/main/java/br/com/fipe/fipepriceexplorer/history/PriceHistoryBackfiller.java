@@ -0,0 +1,149 @@
+package br.com.fipe.fipepriceexplorer.history;
+
+import br.com.fipe.fipepriceexplorer.client.FipeClient;
+import br.com.fipe.fipepriceexplorer.client.FipeClientErrorException;
+import br.com.fipe.fipepriceexplorer.crawler.CatalogPriceRecord;
+import br.com.fipe.fipepriceexplorer.dto.FipeReferenceDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/** Skips points already stored or marked unavailable, so an interrupted backfill resumes where it stopped. */
+@Component
+public class PriceHistoryBackfiller {
+
+    private final FipeClient fipeClient;
+    private final JsonMapper jsonMapper;
+    private final int concurrency;
+
+    public PriceHistoryBackfiller(
+            FipeClient fipeClient,
+            JsonMapper jsonMapper,
+            @Value("${fipe.history.concurrency:4}") int concurrency) {
+        this.fipeClient = fipeClient;
+        this.jsonMapper = jsonMapper;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /** The {@code months} most recent reference months, newest first. */
+    public List<FipeReferenceDTO> latestReferences(int months) {
+        return fipeClient.fetchReferences()
+                .filter(reference -> referenceCode(reference) > 0)
+                .sort(Comparator.comparingInt(PriceHistoryBackfiller::referenceCode).reversed())
+                .take(Math.max(1, months))
+                .collectList()
+                .block();
+    }
+
+    public BackfillSummary backfill(
+            PriceHistoryStore store, Path catalogJsonl, List<FipeReferenceDTO> references, LongConsumer onSaved) {
+        Set<SeriesKey> seriesKeys = readSeriesKeys(catalogJsonl);
+        references.forEach(reference -> store.putReferenceMonth(referenceCode(reference), reference.month()));
+
+        AtomicLong saved = new AtomicLong();
+        AtomicLong alreadyStored = new AtomicLong();
+        AtomicLong unavailable = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+
+        Flux.fromIterable(seriesKeys)
+                .concatMap(key -> Flux.fromIterable(references)
+                        .filter(reference -> {
+                            int code = referenceCode(reference);
+                            boolean stored = store.contains(key, code) || store.isUnavailable(key, code);
+                            if (stored) {
+                                alreadyStored.incrementAndGet();
+                            }
+                            return !stored;
+                        })
+                        .flatMap(
+                                reference -> backfillPoint(store, key, reference, saved, unavailable, failed, onSaved),
+                                concurrency))
+                .then()
+                .block();
+
+        store.flush();
+        return new BackfillSummary(
+                seriesKeys.size(), saved.get(), alreadyStored.get(), unavailable.get(), failed.get());
+    }
+
+    private Mono<Void> backfillPoint(
+            PriceHistoryStore store,
+            SeriesKey key,
+            FipeReferenceDTO reference,
+            AtomicLong saved,
+            AtomicLong unavailable,
+            AtomicLong failed,
+            LongConsumer onSaved) {
+        return fipeClient.fetchPriceByYear(key.brandCode(), key.modelCode(), key.yearCode(), reference.code())
+                .doOnNext(price -> {
+                    store.append(key, referenceCode(reference), price.getPriceCentavos());
+                    onSaved.accept(saved.incrementAndGet());
+                })
+                .onErrorResume(ex -> {
+                    if (isNotListed(ex)) {
+                        // The vehicle was not listed yet in that reference month; that will not change.
+                        store.markUnavailable(key, referenceCode(reference));
+                        unavailable.incrementAndGet();
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    // Throttling and request timeouts are 4xx too, but worth retrying on the next run.
+    private static boolean isNotListed(Throwable ex) {
+        if (!(ex instanceof FipeClientErrorException clientError)) {
+            return false;
+        }
+        int status = clientError.getStatusCode().value();
+        return status != HttpStatus.TOO_MANY_REQUESTS.value() && status != HttpStatus.REQUEST_TIMEOUT.value();
+    }
+
+    private Set<SeriesKey> readSeriesKeys(Path catalogJsonl) {
+        Set<SeriesKey> seriesKeys = new LinkedHashSet<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(catalogJsonl, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    CatalogPriceRecord record = jsonMapper.readValue(line, CatalogPriceRecord.class);
+                    seriesKeys.add(new SeriesKey(record.brandCode(), record.modelCode(), record.yearCode()));
+                } catch (RuntimeException ex) {
+                    // Torn or malformed rows are skipped, as in the snapshot writer.
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read catalog file " + catalogJsonl + ".", ex);
+        }
+        return seriesKeys;
+    }
+
+    public static int referenceCode(FipeReferenceDTO reference) {
+        try {
+            return Integer.parseInt(reference.code().trim());
+        } catch (RuntimeException ex) {
+            return -1;
+        }
+    }
+}
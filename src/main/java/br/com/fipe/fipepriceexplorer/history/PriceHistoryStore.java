@@ -0,0 +1,352 @@
+package br.com.fipe.fipepriceexplorer.history;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/** Append-only log of varint-delta price points; a torn record at the tail is truncated on open. */
+public class PriceHistoryStore implements Closeable {
+
+    private static final byte[] MAGIC = "FIPEHIST".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 2;
+
+    private static final int TAG_REFERENCE = 1;
+    private static final int TAG_SERIES = 2;
+    private static final int TAG_POINT = 3;
+    // Added in version 2: the FIPE API answered 4xx for this point, so it is not requested again.
+    private static final int TAG_UNAVAILABLE = 4;
+
+    private final Path file;
+    private final Map<Integer, String> referenceMonths = new HashMap<>();
+    private final Map<SeriesKey, Integer> seriesIds = new HashMap<>();
+    private final List<SeriesKey> keys = new ArrayList<>();
+    private final List<PriceSeries> series = new ArrayList<>();
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(64);
+    private final OutputStream out;
+
+    private PriceHistoryStore(Path file) throws IOException {
+        this.file = file;
+        long validLength = replay();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (channel.size() > validLength) {
+                channel.truncate(validLength);
+            }
+            if (validLength > 0) {
+                // Version 1 logs are a subset of version 2; bump the header before appending newer records.
+                channel.write(ByteBuffer.wrap(new byte[] {VERSION}), MAGIC.length);
+            }
+        }
+
+        this.out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.APPEND));
+        if (validLength == 0) {
+            out.write(MAGIC);
+            out.write(VERSION);
+            out.flush();
+        }
+    }
+
+    public static PriceHistoryStore open(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            return new PriceHistoryStore(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to open price history at " + file + ".", ex);
+        }
+    }
+
+    public synchronized int seriesCount() {
+        return series.size();
+    }
+
+    public synchronized String referenceMonth(int referenceCode) {
+        return referenceMonths.getOrDefault(referenceCode, String.valueOf(referenceCode));
+    }
+
+    public synchronized boolean contains(SeriesKey key, int referenceCode) {
+        Integer id = seriesIds.get(key);
+        return id != null && series.get(id).contains(referenceCode);
+    }
+
+    public synchronized boolean isUnavailable(SeriesKey key, int referenceCode) {
+        Integer id = seriesIds.get(key);
+        return id != null && series.get(id).isUnavailable(referenceCode);
+    }
+
+    public synchronized void putReferenceMonth(int referenceCode, String month) {
+        if (month == null || month.equals(referenceMonths.get(referenceCode))) {
+            return;
+        }
+        referenceMonths.put(referenceCode, month);
+
+        record.reset();
+        record.write(TAG_REFERENCE);
+        writeVarint(record, referenceCode);
+        writeString(record, month);
+        appendRecord();
+    }
+
+    public synchronized void append(SeriesKey key, int referenceCode, long priceCentavos) {
+        record.reset();
+        int id = seriesId(key);
+
+        PriceSeries target = series.get(id);
+        record.write(TAG_POINT);
+        writeVarint(record, id);
+        writeVarint(record, zigzag(referenceCode - target.lastLoggedReference));
+        writeVarint(record, zigzag(priceCentavos - target.lastLoggedPrice));
+        appendRecord();
+
+        target.lastLoggedReference = referenceCode;
+        target.lastLoggedPrice = priceCentavos;
+        target.put(referenceCode, priceCentavos);
+    }
+
+    /** Records that the FIPE API has no price for this vehicle in that reference month. */
+    public synchronized void markUnavailable(SeriesKey key, int referenceCode) {
+        record.reset();
+        int id = seriesId(key);
+
+        PriceSeries target = series.get(id);
+        if (target.isUnavailable(referenceCode)) {
+            return;
+        }
+        record.write(TAG_UNAVAILABLE);
+        writeVarint(record, id);
+        writeVarint(record, referenceCode);
+        appendRecord();
+
+        target.markUnavailable(referenceCode);
+    }
+
+    /** Points of one series between two reference codes, inclusive, oldest first. */
+    public synchronized List<PricePoint> trajectory(SeriesKey key, int fromReference, int toReference) {
+        Integer id = seriesIds.get(key);
+        if (id == null) {
+            return List.of();
+        }
+
+        PriceSeries points = series.get(id);
+        List<PricePoint> trajectory = new ArrayList<>();
+        for (int i = points.ceilingIndex(fromReference); i < points.size(); i++) {
+            int reference = points.referenceCode(i);
+            if (reference > toReference) {
+                break;
+            }
+            trajectory.add(new PricePoint(reference, referenceMonth(reference), points.priceCentavos(i)));
+        }
+        return trajectory;
+    }
+
+    /** Series with the largest relative drop between {@code fromReference} and {@code toReference}. */
+    public synchronized List<Depreciation> topDepreciators(int limit, int fromReference, int toReference) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        Comparator<Depreciation> byLoss = Comparator.comparingDouble(Depreciation::lossRatio);
+        PriorityQueue<Depreciation> top = new PriorityQueue<>(limit + 1, byLoss);
+
+        for (int id = 0; id < series.size(); id++) {
+            PriceSeries points = series.get(id);
+            int first = points.ceilingIndex(fromReference);
+            int last = points.floorIndex(toReference);
+            if (first >= last || points.priceCentavos(first) <= 0) {
+                continue;
+            }
+
+            long fromPrice = points.priceCentavos(first);
+            long toPrice = points.priceCentavos(last);
+            double lossRatio = (double) (fromPrice - toPrice) / fromPrice;
+            if (top.size() == limit && lossRatio <= top.peek().lossRatio()) {
+                continue;
+            }
+
+            int fromCode = points.referenceCode(first);
+            int toCode = points.referenceCode(last);
+            top.add(new Depreciation(
+                    keys.get(id),
+                    new PricePoint(fromCode, referenceMonth(fromCode), fromPrice),
+                    new PricePoint(toCode, referenceMonth(toCode), toPrice)));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Depreciation> ranked = new ArrayList<>(top);
+        ranked.sort(byLoss.reversed());
+        return ranked;
+    }
+
+    public synchronized void flush() {
+        try {
+            out.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to write price history to " + file + ".", ex);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    // Id of the series, writing its definition into the pending record when the series is new.
+    private int seriesId(SeriesKey key) {
+        Integer id = seriesIds.get(key);
+        if (id != null) {
+            return id;
+        }
+
+        id = series.size();
+        seriesIds.put(key, id);
+        keys.add(key);
+        series.add(new PriceSeries());
+
+        record.write(TAG_SERIES);
+        writeVarint(record, id);
+        writeString(record, key.brandCode());
+        writeString(record, key.modelCode());
+        writeString(record, key.yearCode());
+        return id;
+    }
+
+    private void appendRecord() {
+        try {
+            record.writeTo(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to write price history to " + file + ".", ex);
+        }
+    }
+
+    private long replay() throws IOException {
+        if (!Files.exists(file) || Files.size(file) == 0) {
+            return 0;
+        }
+
+        byte[] log = Files.readAllBytes(file);
+        if (log.length < MAGIC.length + 1) {
+            return 0;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (log[i] != MAGIC[i]) {
+                throw new IOException(file + " is not a FIPE price history file.");
+            }
+        }
+        if (log[MAGIC.length] < 1 || log[MAGIC.length] > VERSION) {
+            throw new IOException("Unsupported price history version " + log[MAGIC.length] + " in " + file + ".");
+        }
+
+        Reader reader = new Reader(log, MAGIC.length + 1);
+        int committed = reader.position;
+        try {
+            while (reader.position < log.length) {
+                switch (reader.readByte()) {
+                    case TAG_REFERENCE -> referenceMonths.put((int) reader.readVarint(), reader.readString());
+                    case TAG_SERIES -> {
+                        int id = (int) reader.readVarint();
+                        SeriesKey key = new SeriesKey(reader.readString(), reader.readString(), reader.readString());
+                        if (id != series.size()) {
+                            throw new IOException("Corrupt series table in " + file + ".");
+                        }
+                        seriesIds.put(key, id);
+                        keys.add(key);
+                        series.add(new PriceSeries());
+                    }
+                    case TAG_POINT -> {
+                        PriceSeries target = series.get((int) reader.readVarint());
+                        int reference = (int) (target.lastLoggedReference + unzigzag(reader.readVarint()));
+                        long price = target.lastLoggedPrice + unzigzag(reader.readVarint());
+                        target.lastLoggedReference = reference;
+                        target.lastLoggedPrice = price;
+                        target.put(reference, price);
+                    }
+                    case TAG_UNAVAILABLE -> {
+                        PriceSeries target = series.get((int) reader.readVarint());
+                        target.markUnavailable((int) reader.readVarint());
+                    }
+                    default -> throw new IOException("Corrupt record in " + file + " at offset " + committed + ".");
+                }
+                committed = reader.position;
+            }
+        } catch (IndexOutOfBoundsException ex) {
+            // The last record was torn by an interrupted run; everything before it is intact.
+        }
+        return committed;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.write((int) value);
+    }
+
+    private static void writeString(ByteArrayOutputStream buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(buffer, bytes.length);
+        buffer.writeBytes(bytes);
+    }
+
+    private static final class Reader {
+        private final byte[] log;
+        private int position;
+
+        Reader(byte[] log, int position) {
+            this.log = log;
+            this.position = position;
+        }
+
+        int readByte() {
+            return log[position++] & 0xFF;
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+
+        String readString() {
+            int length = (int) readVarint();
+            if (position + length > log.length) {
+                throw new IndexOutOfBoundsException("Torn string at offset " + position);
+            }
+            String value = new String(log, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
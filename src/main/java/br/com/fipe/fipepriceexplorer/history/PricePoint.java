@@ -0,0 +1,3 @@
+package br.com.fipe.fipepriceexplorer.history;
+
+public record PricePoint(int referenceCode, String referenceMonth, long priceCentavos) {}
@@ -0,0 +1,83 @@
+package br.com.fipe.fipepriceexplorer.history;
+
+import java.util.Arrays;
+
+/** Prices of one vehicle sorted by reference code in parallel primitive arrays. */
+public final class PriceSeries {
+
+    private int[] references = new int[8];
+    private long[] prices = new long[8];
+    private int size;
+
+    // Reference months the FIPE API has no price for, sorted; usually empty.
+    private int[] unavailable = new int[0];
+
+    // Last point in log order, which is what the on-disk deltas are relative to.
+    int lastLoggedReference;
+    long lastLoggedPrice;
+
+    public int size() {
+        return size;
+    }
+
+    public int referenceCode(int index) {
+        return references[index];
+    }
+
+    public long priceCentavos(int index) {
+        return prices[index];
+    }
+
+    public boolean contains(int referenceCode) {
+        return Arrays.binarySearch(references, 0, size, referenceCode) >= 0;
+    }
+
+    public boolean isUnavailable(int referenceCode) {
+        return Arrays.binarySearch(unavailable, referenceCode) >= 0;
+    }
+
+    /** Index of the first point at or after {@code referenceCode}, or {@code size()} if there is none. */
+    public int ceilingIndex(int referenceCode) {
+        int index = Arrays.binarySearch(references, 0, size, referenceCode);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /** Index of the last point at or before {@code referenceCode}, or {@code -1} if there is none. */
+    public int floorIndex(int referenceCode) {
+        int index = Arrays.binarySearch(references, 0, size, referenceCode);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    void markUnavailable(int referenceCode) {
+        int index = Arrays.binarySearch(unavailable, referenceCode);
+        if (index >= 0) {
+            return;
+        }
+
+        index = -index - 1;
+        int[] grown = new int[unavailable.length + 1];
+        System.arraycopy(unavailable, 0, grown, 0, index);
+        System.arraycopy(unavailable, index, grown, index + 1, unavailable.length - index);
+        grown[index] = referenceCode;
+        unavailable = grown;
+    }
+
+    void put(int referenceCode, long priceCentavos) {
+        int index = Arrays.binarySearch(references, 0, size, referenceCode);
+        if (index >= 0) {
+            prices[index] = priceCentavos;
+            return;
+        }
+
+        index = -index - 1;
+        if (size == references.length) {
+            references = Arrays.copyOf(references, size * 2);
+            prices = Arrays.copyOf(prices, size * 2);
+        }
+        System.arraycopy(references, index, references, index + 1, size - index);
+        System.arraycopy(prices, index, prices, index + 1, size - index);
+        references[index] = referenceCode;
+        prices[index] = priceCentavos;
+        size++;
+    }
+}
@@ -0,0 +1,3 @@
+package br.com.fipe.fipepriceexplorer.history;
+
+public record SeriesKey(String brandCode, String modelCode, String yearCode) {}
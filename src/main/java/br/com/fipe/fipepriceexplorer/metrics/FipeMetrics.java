@@ -0,0 +1,172 @@
+package br.com.fipe.fipepriceexplorer.metrics;
+
+import br.com.fipe.fipepriceexplorer.cache.TieredResponseCache;
+import br.com.fipe.fipepriceexplorer.client.PriceWarmCache;
+import br.com.fipe.fipepriceexplorer.client.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class FipeMetrics {
+
+    private final MeterRegistry registry;
+
+    public FipeMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public MeterRegistry registry() {
+        return registry;
+    }
+
+    public static String endpointOf(String uriTemplate) {
+        if (uriTemplate == null) {
+            return "other";
+        }
+        int query = uriTemplate.indexOf('?');
+        if (query >= 0) {
+            uriTemplate = uriTemplate.substring(0, query);
+        }
+        if (uriTemplate.endsWith("/years/{yearId}")) {
+            return "price";
+        }
+        if (uriTemplate.endsWith("/models")) {
+            return "models";
+        }
+        if (uriTemplate.endsWith("/years")) {
+            return "years";
+        }
+        if (uriTemplate.endsWith("/brands")) {
+            return "brands";
+        }
+        if (uriTemplate.endsWith("/references")) {
+            return "references";
+        }
+        return "other";
+    }
+
+    public void recordExchange(String endpoint, String status, String outcome, long nanos) {
+        Timer.builder("fipe.client.exchange")
+                .description("Upstream FIPE API latency until response headers, per attempt")
+                .tags("endpoint", endpoint, "status", status, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRetry(String endpoint, String reason) {
+        Counter.builder("fipe.client.retries")
+                .tags("endpoint", endpoint, "reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordThrottled(String endpoint) {
+        Counter.builder("fipe.client.throttled").tag("endpoint", endpoint).register(registry).increment();
+    }
+
+    public <T> Mono<T> timeCall(String endpoint, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doFinally(signal -> recordCall(endpoint, signal, System.nanoTime() - start));
+        });
+    }
+
+    public <T> Flux<T> timeCall(String endpoint, Flux<T> call) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            return call.doFinally(signal -> recordCall(endpoint, signal, System.nanoTime() - start));
+        });
+    }
+
+    public <T> Flux<T> timeOperation(String operation, Flux<T> pipeline) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            return pipeline.doFinally(signal ->
+                    recordOperation(operation, outcomeOf(signal), System.nanoTime() - start));
+        });
+    }
+
+    public <T> T timeOperation(String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } finally {
+            recordOperation(operation, outcome, System.nanoTime() - start);
+        }
+    }
+
+    public void recordFanOut(String operation, int width) {
+        DistributionSummary.builder("fipe.service.fanout.width")
+                .description("Number of concurrent upstream lookups started by one service operation")
+                .tag("operation", operation)
+                .register(registry)
+                .record(width);
+    }
+
+    public void bindCache(TieredResponseCache cache) {
+        FunctionCounter.builder("fipe.cache.requests", cache, c -> c.stats().hits())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("fipe.cache.requests", cache, c -> c.stats().diskHits())
+                .tag("result", "disk_hit")
+                .register(registry);
+        FunctionCounter.builder("fipe.cache.requests", cache, c -> c.stats().misses())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("fipe.cache.evictions", cache, c -> c.stats().evictions()).register(registry);
+        FunctionCounter.builder("fipe.cache.expirations", cache, c -> c.stats().expirations()).register(registry);
+        Gauge.builder("fipe.cache.size.bytes", cache, c -> c.stats().bytes()).register(registry);
+    }
+
+    public void bindPriceWarmCache(PriceWarmCache priceCache) {
+        FunctionCounter.builder("fipe.prefetch.price.hits", priceCache, PriceWarmCache::hits)
+                .description("Price lookups answered by a speculatively warmed entry")
+                .register(registry);
+    }
+
+    public void bindSingleFlight(SingleFlight singleFlight) {
+        FunctionCounter.builder("fipe.client.coalesced", singleFlight, SingleFlight::coalescedCalls)
+                .description("Lookups served by an identical request already in flight")
+                .register(registry);
+    }
+
+    private void recordOperation(String operation, String outcome, long nanos) {
+        Timer.builder("fipe.service.operation")
+                .description("End-to-end latency of FipeService operations")
+                .tags("operation", operation, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void recordCall(String endpoint, SignalType signal, long nanos) {
+        Timer.builder("fipe.client.call")
+                .description("FIPE client call latency including response decoding")
+                .tags("endpoint", endpoint, "outcome", outcomeOf(signal))
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcomeOf(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> "success";
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancelled";
+            default -> "unknown";
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.fipe.fipepriceexplorer.metrics;
+
+import br.com.fipe.fipepriceexplorer.cache.TieredResponseCache;
+import br.com.fipe.fipepriceexplorer.client.PriceWarmCache;
+import br.com.fipe.fipepriceexplorer.client.SingleFlight;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public PrometheusMeterRegistry prometheusMeterRegistry() {
+        return new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    }
+
+    @Bean
+    public FipeMetrics fipeMetrics(
+            PrometheusMeterRegistry registry,
+            TieredResponseCache cache,
+            SingleFlight singleFlight,
+            PriceWarmCache priceCache) {
+        FipeMetrics metrics = new FipeMetrics(registry);
+        metrics.bindCache(cache);
+        metrics.bindSingleFlight(singleFlight);
+        metrics.bindPriceWarmCache(priceCache);
+        return metrics;
+    }
+}
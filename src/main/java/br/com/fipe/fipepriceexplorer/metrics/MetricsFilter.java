@@ -0,0 +1,52 @@
+package br.com.fipe.fipepriceexplorer.metrics;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+public class MetricsFilter implements ExchangeFilterFunction {
+
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+    private final FipeMetrics metrics;
+
+    public MetricsFilter(FipeMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public static String endpointOf(ClientRequest request) {
+        return FipeMetrics.endpointOf((String) request.attribute(URI_TEMPLATE_ATTRIBUTE).orElse(null));
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String endpoint = endpointOf(request);
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnNext(response -> metrics.recordExchange(
+                            endpoint,
+                            String.valueOf(response.statusCode().value()),
+                            outcomeOf(response.statusCode().value()),
+                            System.nanoTime() - start))
+                    .doOnError(ex -> metrics.recordExchange(endpoint, "IO_ERROR", "error", System.nanoTime() - start));
+        });
+    }
+
+    private static String outcomeOf(int status) {
+        if (status == 429) {
+            return "throttled";
+        }
+        if (status >= 500) {
+            return "server_error";
+        }
+        if (status >= 400) {
+            return "client_error";
+        }
+        return "success";
+    }
+}
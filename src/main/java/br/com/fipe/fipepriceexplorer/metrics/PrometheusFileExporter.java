@@ -0,0 +1,69 @@
+package br.com.fipe.fipepriceexplorer.metrics;
+
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/** Writes the scrape for a node-exporter textfile collector, periodically and once more on shutdown. */
+@Component
+@ConditionalOnExpression("!'${fipe.metrics.export-file:}'.isBlank()")
+public class PrometheusFileExporter implements DisposableBean {
+
+    private final PrometheusMeterRegistry registry;
+    private final Path target;
+    private final ScheduledExecutorService scheduler;
+
+    public PrometheusFileExporter(
+            PrometheusMeterRegistry registry,
+            @Value("${fipe.metrics.export-file}") String exportFile,
+            @Value("${fipe.metrics.export-interval:15s}") Duration interval) {
+        this.registry = registry;
+        this.target = Path.of(exportFile).toAbsolutePath();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fipe-metrics-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = Math.max(1, interval.toMillis());
+        scheduler.scheduleAtFixedRate(this::exportQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public void export() {
+        try {
+            Path dir = target.getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+            Files.writeString(tmp, registry.scrape(), StandardCharsets.UTF_8);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to write metrics to " + target, ex);
+        }
+    }
+
+    private void exportQuietly() {
+        try {
+            export();
+        } catch (UncheckedIOException ex) {
+            System.out.println("\n⚠️ " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        exportQuietly();
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.fipe.fipepriceexplorer.refresh;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/** Lists keyed by {@code brands}, {@code brand-years/<brand>} and {@code year-models/<brand>/<yearCode>}. */
+public record CatalogManifest(int referenceCode, Map<String, ListState> lists) {
+
+    public static CatalogManifest empty() {
+        return new CatalogManifest(-1, Map.of());
+    }
+
+    public static CatalogManifest load(JsonMapper jsonMapper, Path file) {
+        if (!Files.isRegularFile(file)) {
+            return empty();
+        }
+        try {
+            CatalogManifest manifest = jsonMapper.readValue(file.toFile(), CatalogManifest.class);
+            return manifest.lists() == null ? new CatalogManifest(manifest.referenceCode(), Map.of()) : manifest;
+        } catch (RuntimeException ex) {
+            // A damaged manifest only costs one full comparison against the catalog.
+            return empty();
+        }
+    }
+
+    public void save(JsonMapper jsonMapper, Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            jsonMapper.writeValue(tmp.toFile(), this);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to write catalog manifest " + file + ".", ex);
+        }
+    }
+}
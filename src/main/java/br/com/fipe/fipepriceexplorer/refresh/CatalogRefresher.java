@@ -0,0 +1,354 @@
+package br.com.fipe.fipepriceexplorer.refresh;
+
+import br.com.fipe.fipepriceexplorer.client.CodeNameJsonDecoder;
+import br.com.fipe.fipepriceexplorer.client.ConditionalResponse;
+import br.com.fipe.fipepriceexplorer.client.FipeClient;
+import br.com.fipe.fipepriceexplorer.crawler.CatalogPriceRecord;
+import br.com.fipe.fipepriceexplorer.crawler.CrawlCheckpoint;
+import br.com.fipe.fipepriceexplorer.dto.FipeReferenceDTO;
+import br.com.fipe.fipepriceexplorer.history.PriceHistoryBackfiller;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/** Refreshes the crawl catalog from conditional list requests, pricing only the pairs that changed. */
+@Component
+public class CatalogRefresher {
+
+    private static final String REFERENCES = "/references";
+    private static final String BRANDS = "/cars/brands";
+    private static final String BRAND_YEARS = "/cars/brands/{brandId}/years";
+    private static final String YEAR_MODELS = "/cars/brands/{brandId}/years/{yearId}/models";
+
+    private final FipeClient fipeClient;
+    private final JsonMapper jsonMapper;
+    private final int concurrency;
+
+    public CatalogRefresher(
+            FipeClient fipeClient,
+            JsonMapper jsonMapper,
+            @Value("${fipe.refresh.concurrency:4}") int concurrency) {
+        this.fipeClient = fipeClient;
+        this.jsonMapper = jsonMapper;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    public RefreshSummary refresh(Path catalog, Path manifestFile, boolean force, LongConsumer onPriced) {
+        CatalogManifest previous = CatalogManifest.load(jsonMapper, manifestFile);
+        FipeReferenceDTO reference = latestReference();
+        int referenceCode = PriceHistoryBackfiller.referenceCode(reference);
+
+        if (!force && referenceCode == previous.referenceCode() && Files.isRegularFile(catalog)) {
+            return RefreshSummary.upToDate(reference.month());
+        }
+
+        Refresh refresh = new Refresh(previous);
+        ListState brands = refresh.list("brands", BRANDS).block();
+
+        Flux.fromIterable(brands.entries())
+                .flatMap(refresh::walkBrand, concurrency)
+                .then()
+                .block();
+
+        Map<String, CatalogPriceRecord> existing = readCatalog(catalog);
+        Map<String, CatalogPair> current = new LinkedHashMap<>();
+        refresh.pairs.forEach(pair -> current.putIfAbsent(pair.key(), pair));
+
+        // Stays true until a run completes for the new month, so rows whose lookup failed are retried next time.
+        boolean monthChanged = referenceCode != previous.referenceCode();
+        Map<String, CatalogPriceRecord> priced = new ConcurrentHashMap<>();
+        AtomicLong fetched = new AtomicLong();
+        AtomicLong failedPrices = new AtomicLong();
+
+        Flux.fromIterable(current.values())
+                .filter(pair -> {
+                    CatalogPriceRecord record = existing.get(pair.key());
+                    return !pair.matches(record) || monthChanged && !pricedFor(record, reference);
+                })
+                // Pinned to the new month: a cached or in-flight answer for the old month must not pass as refreshed.
+                .flatMap(pair -> fipeClient.fetchPriceByYear(
+                                pair.brandCode(), pair.modelCode(), pair.yearCode(), reference.code())
+                        .doOnNext(price -> {
+                            priced.put(pair.key(), new CatalogPriceRecord(
+                                    pair.brandCode(),
+                                    pair.brandName(),
+                                    pair.modelCode(),
+                                    pair.modelName(),
+                                    pair.yearCode(),
+                                    pair.yearName(),
+                                    price.getModelYear(),
+                                    price.getFuel(),
+                                    price.getPriceCentavos(),
+                                    price.getReferenceMonth()));
+                            onPriced.accept(fetched.incrementAndGet());
+                        })
+                        .onErrorResume(ex -> {
+                            failedPrices.incrementAndGet();
+                            return Mono.empty();
+                        }), concurrency)
+                .then()
+                .block();
+
+        Map<String, CatalogPriceRecord> next = new LinkedHashMap<>();
+        long kept = 0;
+        for (CatalogPair pair : current.values()) {
+            CatalogPriceRecord record = priced.get(pair.key());
+            if (record == null) {
+                // Unchanged pairs, and pairs whose price lookup failed, keep their stored row and its month.
+                record = existing.get(pair.key());
+                if (record == null) {
+                    continue;
+                }
+                kept++;
+            }
+            next.put(pair.key(), record);
+        }
+
+        long removed = 0;
+        for (CatalogPriceRecord record : existing.values()) {
+            if (next.containsKey(record.key())) {
+                continue;
+            }
+            if (refresh.coveredByFailure(record.brandCode(), record.yearCode())) {
+                next.put(record.key(), record);
+                kept++;
+            } else {
+                removed++;
+            }
+        }
+
+        writeCatalog(catalog, next.values());
+
+        boolean complete = refresh.listsFailed.get() == 0 && failedPrices.get() == 0;
+        new CatalogManifest(complete ? referenceCode : previous.referenceCode(), refresh.manifestLists())
+                .save(jsonMapper, manifestFile);
+
+        return new RefreshSummary(
+                reference.month(),
+                false,
+                refresh.listsChecked.get(),
+                refresh.listsNotModified.get(),
+                refresh.listsUnchanged.get(),
+                refresh.listsChanged.get(),
+                refresh.listsFailed.get(),
+                fetched.get(),
+                kept,
+                removed,
+                failedPrices.get());
+    }
+
+    private static boolean pricedFor(CatalogPriceRecord record, FipeReferenceDTO reference) {
+        return record.referenceMonth() != null
+                && record.referenceMonth().trim().equalsIgnoreCase(reference.month().trim());
+    }
+
+    private FipeReferenceDTO latestReference() {
+        // Read past the response cache: a day-old reference list would hide the new month.
+        ConditionalResponse response = fipeClient.fetchIfChanged(REFERENCES, null, null).block();
+        FipeReferenceDTO[] references = jsonMapper.readValue(response.body(), FipeReferenceDTO[].class);
+
+        return Arrays.stream(references)
+                .filter(reference -> PriceHistoryBackfiller.referenceCode(reference) > 0)
+                .max(Comparator.comparingInt(PriceHistoryBackfiller::referenceCode))
+                .orElseThrow(() -> new IllegalStateException("The FIPE API returned no reference months."));
+    }
+
+    private Map<String, CatalogPriceRecord> readCatalog(Path catalog) {
+        Map<String, CatalogPriceRecord> records = new LinkedHashMap<>();
+        if (!Files.isRegularFile(catalog)) {
+            return records;
+        }
+
+        try {
+            for (String line : Files.readAllLines(catalog, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    CatalogPriceRecord record = jsonMapper.readValue(line, CatalogPriceRecord.class);
+                    records.put(record.key(), record);
+                } catch (RuntimeException ex) {
+                    // A torn line is priced again if its pair is still listed.
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read catalog " + catalog + ".", ex);
+        }
+        return records;
+    }
+
+    private void writeCatalog(Path catalog, Iterable<CatalogPriceRecord> records) {
+        try {
+            Path parent = catalog.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = catalog.resolveSibling(catalog.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (CatalogPriceRecord record : records) {
+                    writer.write(jsonMapper.writeValueAsString(record));
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, catalog, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to write catalog " + catalog + ".", ex);
+        }
+    }
+
+    private static String hash(List<ListEntry> entries) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available.", ex);
+        }
+
+        // Sorted so that a reordered but otherwise identical list does not count as a change.
+        entries.stream()
+                .sorted(Comparator.comparing(ListEntry::code, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(entry -> {
+                    digest.update(String.valueOf(entry.code()).getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                    digest.update(String.valueOf(entry.name()).getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) '\n');
+                });
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private record CatalogPair(
+            String brandCode, String brandName, String modelCode, String modelName, String yearCode, String yearName) {
+
+        String key() {
+            return CrawlCheckpoint.priceKey(brandCode, modelCode, yearCode);
+        }
+
+        boolean matches(CatalogPriceRecord record) {
+            return record != null
+                    && Objects.equals(record.brandName(), brandName)
+                    && Objects.equals(record.modelName(), modelName)
+                    && Objects.equals(record.yearName(), yearName);
+        }
+    }
+
+    private class Refresh {
+        private final CatalogManifest previous;
+        private final Map<String, ListState> lists = new ConcurrentHashMap<>();
+        private final Queue<CatalogPair> pairs = new ConcurrentLinkedQueue<>();
+        private final Set<String> failedBrands = ConcurrentHashMap.newKeySet();
+        private final Set<String> failedBrandYears = ConcurrentHashMap.newKeySet();
+        private final AtomicLong listsChecked = new AtomicLong();
+        private final AtomicLong listsNotModified = new AtomicLong();
+        private final AtomicLong listsUnchanged = new AtomicLong();
+        private final AtomicLong listsChanged = new AtomicLong();
+        private final AtomicLong listsFailed = new AtomicLong();
+
+        Refresh(CatalogManifest previous) {
+            this.previous = previous;
+        }
+
+        Mono<Void> walkBrand(ListEntry brand) {
+            String brandCode = brand.code();
+
+            return list("brand-years/" + brandCode, BRAND_YEARS, brandCode)
+                    .flatMapMany(years -> Flux.fromIterable(years.entries()))
+                    .flatMap(year -> list("year-models/" + brandCode + "/" + year.code(), YEAR_MODELS, brandCode, year.code())
+                            .doOnNext(models -> models.entries().forEach(model -> pairs.add(new CatalogPair(
+                                    brandCode, brand.name(), model.code(), model.name(), year.code(), year.name()))))
+                            .onErrorResume(ex -> {
+                                failedBrandYears.add(brandCode + "/" + year.code());
+                                listsFailed.incrementAndGet();
+                                return Mono.empty();
+                            }), concurrency)
+                    .then()
+                    .onErrorResume(ex -> {
+                        failedBrands.add(brandCode);
+                        listsFailed.incrementAndGet();
+                        return Mono.empty();
+                    });
+        }
+
+        Mono<ListState> list(String key, String uriTemplate, Object... uriVariables) {
+            ListState before = previous.lists().get(key);
+            String etag = before == null ? null : before.etag();
+            String lastModified = before == null ? null : before.lastModified();
+
+            return fipeClient.fetchIfChanged(uriTemplate, etag, lastModified, uriVariables)
+                    .map(response -> {
+                        listsChecked.incrementAndGet();
+                        if (response.notModified()) {
+                            if (before == null) {
+                                throw new IllegalStateException("Unexpected 304 for " + key + " without validators.");
+                            }
+                            listsNotModified.incrementAndGet();
+                            return before;
+                        }
+
+                        List<ListEntry> entries = decode(response.body());
+                        String hash = hash(entries);
+                        if (before != null && hash.equals(before.hash())) {
+                            listsUnchanged.incrementAndGet();
+                        } else {
+                            listsChanged.incrementAndGet();
+                        }
+                        return new ListState(response.etag(), response.lastModified(), hash, entries);
+                    })
+                    .doOnNext(state -> lists.put(key, state));
+        }
+
+        boolean coveredByFailure(String brandCode, String yearCode) {
+            return failedBrands.contains(brandCode) || failedBrandYears.contains(brandCode + "/" + yearCode);
+        }
+
+        /** Lists read in this run, plus the stored versions under failed scopes so they stay conditional. */
+        Map<String, ListState> manifestLists() {
+            Map<String, ListState> merged = new HashMap<>(lists);
+            previous.lists().forEach((key, state) -> {
+                if (merged.containsKey(key)) {
+                    return;
+                }
+                String[] parts = key.split("/");
+                boolean failedScope = parts.length >= 2 && failedBrands.contains(parts[1])
+                        || parts.length == 3 && failedBrandYears.contains(parts[1] + "/" + parts[2]);
+                if (failedScope) {
+                    merged.put(key, state);
+                }
+            });
+            return merged;
+        }
+
+        private List<ListEntry> decode(byte[] body) {
+            CodeNameJsonDecoder<ListEntry> decoder = new CodeNameJsonDecoder<>(ListEntry::new, null);
+            List<ListEntry> entries = decoder.decode(ByteBuffer.wrap(body));
+            decoder.finish();
+            return List.copyOf(entries);
+        }
+    }
+}
@@ -0,0 +1,3 @@
+package br.com.fipe.fipepriceexplorer.refresh;
+
+public record ListEntry(String code, String name) {}
@@ -0,0 +1,6 @@
+package br.com.fipe.fipepriceexplorer.refresh;
+
+import java.util.List;
+
+/** Last seen version of one FIPE list: its HTTP validators, a content hash and the entries themselves. */
+public record ListState(String etag, String lastModified, String hash, List<ListEntry> entries) {}
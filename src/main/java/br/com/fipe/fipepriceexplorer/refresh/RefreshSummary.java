@@ -0,0 +1,19 @@
+package br.com.fipe.fipepriceexplorer.refresh;
+
+public record RefreshSummary(
+        String referenceMonth,
+        boolean upToDate,
+        long listsChecked,
+        long listsNotModified,
+        long listsUnchanged,
+        long listsChanged,
+        long listsFailed,
+        long pricesFetched,
+        long pricesKept,
+        long pricesRemoved,
+        long pricesFailed) {
+
+    public static RefreshSummary upToDate(String referenceMonth) {
+        return new RefreshSummary(referenceMonth, true, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+    }
+}
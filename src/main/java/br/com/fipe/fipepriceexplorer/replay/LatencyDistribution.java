@@ -0,0 +1,43 @@
+package br.com.fipe.fipepriceexplorer.replay;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+public enum LatencyDistribution {
+
+    /** Always the median. */
+    FIXED {
+        @Override
+        long sampleNanos(long medianNanos, long p99Nanos, RandomGenerator random) {
+            return medianNanos;
+        }
+    },
+
+    /** Uniform between zero and twice the median. */
+    UNIFORM {
+        @Override
+        long sampleNanos(long medianNanos, long p99Nanos, RandomGenerator random) {
+            return medianNanos == 0 ? 0 : random.nextLong(2 * medianNanos + 1);
+        }
+    },
+
+    /** Log-normal fitted to the median and the 99th percentile, the usual shape of a remote API's tail. */
+    LOGNORMAL {
+        private static final double Z_99 = 2.3263;
+
+        @Override
+        long sampleNanos(long medianNanos, long p99Nanos, RandomGenerator random) {
+            if (medianNanos <= 0) {
+                return 0;
+            }
+            double sigma = Math.log(Math.max(p99Nanos, medianNanos) / (double) medianNanos) / Z_99;
+            return (long) (medianNanos * Math.exp(sigma * random.nextGaussian()));
+        }
+    };
+
+    abstract long sampleNanos(long medianNanos, long p99Nanos, RandomGenerator random);
+
+    public Duration sample(Duration median, Duration p99, RandomGenerator random) {
+        return Duration.ofNanos(sampleNanos(median.toNanos(), p99.toNanos(), random));
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.fipe.fipepriceexplorer.replay;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/** Tees successful GET bodies into {@link ReplayStore} without buffering the response. */
+public class RecordingFilter implements ExchangeFilterFunction {
+
+    private final Path directory;
+    private final String basePath;
+
+    public RecordingFilter(Path directory, String baseUrl) {
+        this.directory = directory;
+        this.basePath = URI.create(baseUrl).getRawPath();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET) {
+            return next.exchange(request);
+        }
+
+        URI uri = request.url();
+        Path file = ReplayStore.fileFor(directory, ReplayStore.relativePath(uri, basePath), uri.getRawQuery());
+
+        return next.exchange(request).map(response -> {
+            if (!response.statusCode().is2xxSuccessful()) {
+                return response;
+            }
+            return response.mutate()
+                    .body(body -> {
+                        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+                        return body
+                                .doOnNext(buffer -> append(copy, buffer))
+                                .doOnComplete(() -> save(file, copy.toByteArray()));
+                    })
+                    .build();
+        });
+    }
+
+    private static void append(ByteArrayOutputStream copy, DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+            while (chunks.hasNext()) {
+                ByteBuffer chunk = chunks.next();
+                byte[] bytes = new byte[chunk.remaining()];
+                chunk.get(bytes);
+                copy.writeBytes(bytes);
+            }
+        }
+    }
+
+    private static void save(Path file, byte[] body) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.write(tmp, body);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            // A missed recording must never fail the live call it was copied from.
+            System.out.println("\n⚠️ Unable to record " + file + ": " + ex.getMessage());
+        }
+    }
+}
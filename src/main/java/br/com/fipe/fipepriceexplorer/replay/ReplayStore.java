@@ -0,0 +1,32 @@
+package br.com.fipe.fipepriceexplorer.replay;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+/** {@code /cars/brands/59/models} is stored as {@code <dir>/cars/brands/59/models.json}. */
+public final class ReplayStore {
+
+    private ReplayStore() {}
+
+    public static Path fileFor(Path root, String path, String query) {
+        String relative = path.startsWith("/") ? path.substring(1) : path;
+        if (relative.isEmpty() || relative.contains("..")) {
+            throw new IllegalArgumentException("Unsupported replay path: " + path);
+        }
+
+        String name = relative;
+        if (query != null && !query.isEmpty()) {
+            name = name + "@" + query.replaceAll("[^A-Za-z0-9._=-]", "_");
+        }
+        return root.resolve(name + ".json");
+    }
+
+    /** Strips the base URL path ({@code /api/v2}) so recordings replay against a stub mounted at the root. */
+    public static String relativePath(URI uri, String basePath) {
+        String path = uri.getRawPath();
+        if (basePath != null && !basePath.isEmpty() && path.startsWith(basePath)) {
+            path = path.substring(basePath.length());
+        }
+        return path;
+    }
+}
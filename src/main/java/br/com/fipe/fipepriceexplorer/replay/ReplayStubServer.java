@@ -0,0 +1,147 @@
+package br.com.fipe.fipepriceexplorer.replay;
+
+import br.com.fipe.fipepriceexplorer.config.StubProperties;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Serves recordings with sampled latency, injected 503/429 responses and {@code If-None-Match} support. */
+public class ReplayStubServer implements AutoCloseable {
+
+    private static final byte[] NOT_RECORDED = "{\"error\":\"Not recorded\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] UNAVAILABLE = "{\"error\":\"Injected failure\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] THROTTLED = "{\"error\":\"Too many requests\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final StubProperties properties;
+    private final Random random;
+    private final Map<Path, Optional<Recording>> recordings = new ConcurrentHashMap<>();
+    private final long startNanos = System.nanoTime();
+    private final DisposableServer server;
+
+    private ReplayStubServer(StubProperties properties) {
+        this.properties = properties;
+        this.random = properties.seed() == 0 ? new Random() : new Random(properties.seed());
+        this.server = HttpServer.create()
+                .host(properties.host())
+                .port(properties.port())
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .compress(true)
+                .handle((request, response) -> Mono.delay(
+                                properties.latency().sample(properties.latencyMedian(), properties.latencyP99(), random))
+                        .then(Mono.defer(() -> respond(request, response))))
+                .bindNow();
+    }
+
+    public static ReplayStubServer start(StubProperties properties) {
+        return new ReplayStubServer(properties);
+    }
+
+    public String baseUrl() {
+        return "http://" + properties.host() + ":" + server.port();
+    }
+
+    public void awaitShutdown() {
+        server.onDispose().block();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Mono<Void> respond(HttpServerRequest request, HttpServerResponse response) {
+        if (throttling()) {
+            long retryAfterSeconds = Math.max(1, (properties.retryAfter().toMillis() + 999) / 1000);
+            return send(response.status(HttpResponseStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaderNames.RETRY_AFTER, String.valueOf(retryAfterSeconds)), THROTTLED);
+        }
+        if (properties.errorRate() > 0 && random.nextDouble() < properties.errorRate()) {
+            return send(response.status(HttpResponseStatus.SERVICE_UNAVAILABLE), UNAVAILABLE);
+        }
+
+        URI uri = URI.create(request.uri());
+        Path file;
+        try {
+            file = ReplayStore.fileFor(properties.dir(), uri.getRawPath(), uri.getRawQuery());
+        } catch (IllegalArgumentException ex) {
+            return send(response.status(HttpResponseStatus.NOT_FOUND), NOT_RECORDED);
+        }
+
+        Optional<Recording> cached = recordings.get(file);
+        Mono<Optional<Recording>> recording = cached != null
+                ? Mono.just(cached)
+                : Mono.fromCallable(() -> recordings.computeIfAbsent(file, ReplayStubServer::load))
+                        .subscribeOn(Schedulers.boundedElastic());
+
+        return recording.flatMap(found -> {
+            if (found.isEmpty()) {
+                return send(response.status(HttpResponseStatus.NOT_FOUND), NOT_RECORDED);
+            }
+            Recording hit = found.get();
+            String ifNoneMatch = request.requestHeaders().get(HttpHeaderNames.IF_NONE_MATCH);
+            if (hit.etag().equals(ifNoneMatch)) {
+                return Mono.from(response.status(HttpResponseStatus.NOT_MODIFIED)
+                        .header(HttpHeaderNames.ETAG, hit.etag())
+                        .send());
+            }
+            return send(response.header(HttpHeaderNames.ETAG, hit.etag()), hit.body());
+        });
+    }
+
+    private boolean throttling() {
+        long period = properties.throttleEvery().toNanos();
+        if (period <= 0) {
+            return false;
+        }
+        return (System.nanoTime() - startNanos) % period < properties.throttleFor().toNanos();
+    }
+
+    private static Mono<Void> send(HttpServerResponse response, byte[] body) {
+        return Mono.from(response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .sendByteArray(Mono.just(body)));
+    }
+
+    private static Optional<Recording> load(Path file) {
+        try {
+            byte[] body = Files.readAllBytes(file);
+            return Optional.of(new Recording(body, etagOf(body)));
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read recording " + file + ".", ex);
+        }
+    }
+
+    private static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available.", ex);
+        }
+    }
+
+    private record Recording(byte[] body, String etag) {}
+}
@@ -0,0 +1,66 @@
+package br.com.fipe.fipepriceexplorer.runner;
+
+import br.com.fipe.fipepriceexplorer.analytics.AnalyticsQuery;
+import br.com.fipe.fipepriceexplorer.analytics.GroupBy;
+import br.com.fipe.fipepriceexplorer.analytics.PriceAnalytics;
+import br.com.fipe.fipepriceexplorer.analytics.PriceAnalyticsEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "fipe.mode", havingValue = "analytics")
+public class AnalyticsRunner implements CommandLineRunner {
+
+    private final PriceAnalytics analytics;
+    private final AnalyticsQuery query;
+
+    public AnalyticsRunner(
+            PriceAnalytics analytics,
+            @Value("${fipe.analytics.report:summary}") String report,
+            @Value("${fipe.analytics.group-by:brand}") String groupBy,
+            @Value("${fipe.analytics.brand:}") String brand,
+            @Value("${fipe.analytics.fuel:}") String fuel,
+            @Value("${fipe.analytics.from-year:0}") int fromYear,
+            @Value("${fipe.analytics.to-year:0}") int toYear,
+            @Value("${fipe.analytics.year-band:5}") int band,
+            @Value("${fipe.analytics.top:5}") int top,
+            @Value("${fipe.analytics.order:cheapest}") String order) {
+        this.analytics = analytics;
+        this.query = new AnalyticsQuery(
+                "top".equalsIgnoreCase(report.trim()),
+                GroupBy.parse(groupBy),
+                brand,
+                fuel,
+                fromYear,
+                toYear,
+                band,
+                top,
+                !"priciest".equalsIgnoreCase(order.trim()));
+    }
+
+    @Override
+    public void run(String... args) {
+        Optional<PriceAnalyticsEngine> engine = analytics.engine();
+        if (engine.isEmpty()) {
+            System.out.println("\n🚨 Price snapshot not found: " + analytics.snapshotFile().toAbsolutePath()
+                    + ". Run the crawl mode first.");
+            return;
+        }
+
+        System.out.println("\n📈 " + query.describe() + " over " + engine.get().columns().rowCount() + " prices"
+                + (engine.get().columns().referenceMonth().isBlank()
+                        ? ""
+                        : " (" + engine.get().columns().referenceMonth() + ")"));
+
+        try {
+            long elapsedMicros = query.runAndPrint(engine.get());
+            System.out.println("\n✅ Aggregated in " + elapsedMicros + " µs on " + analytics.parallelism() + " workers.");
+        } catch (IllegalArgumentException ex) {
+            System.out.println("\n⚠️ " + ex.getMessage());
+        }
+    }
+}
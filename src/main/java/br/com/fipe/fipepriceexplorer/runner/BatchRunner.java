@@ -0,0 +1,53 @@
+package br.com.fipe.fipepriceexplorer.runner;
+
+import br.com.fipe.fipepriceexplorer.batch.BatchPricer;
+import br.com.fipe.fipepriceexplorer.batch.BatchSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Component
+@ConditionalOnProperty(name = "fipe.mode", havingValue = "batch")
+public class BatchRunner implements CommandLineRunner {
+
+    private static final int PROGRESS_STEP = 500;
+
+    private final BatchPricer batchPricer;
+    private final Path input;
+    private final Path output;
+
+    public BatchRunner(
+            BatchPricer batchPricer,
+            @Value("${fipe.batch.input:fipe-batch.csv}") Path input,
+            @Value("${fipe.batch.output:fipe-batch-prices.csv}") Path output) {
+        this.batchPricer = batchPricer;
+        this.input = input;
+        this.output = output;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!Files.isRegularFile(input)) {
+            System.out.println("\n🚨 Batch input file not found: " + input.toAbsolutePath());
+            return;
+        }
+
+        System.out.println("\n📦 Pricing vehicles from " + input.toAbsolutePath());
+
+        BatchSummary summary = batchPricer.price(input, output, written -> {
+            if (written % PROGRESS_STEP == 0) {
+                System.out.println("⏳ " + written + " results written...");
+            }
+        });
+
+        System.out.println("\n✅ Batch finished. Input rows: " + summary.rows()
+                + " | Priced: " + summary.priced()
+                + " | Failed: " + summary.failed()
+                + " | Duplicate lookups reused: " + summary.reused());
+        System.out.println("💾 Results written to " + output.toAbsolutePath());
+    }
+}
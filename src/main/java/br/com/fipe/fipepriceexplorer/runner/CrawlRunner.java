@@ -0,0 +1,56 @@
+package br.com.fipe.fipepriceexplorer.runner;
+
+import br.com.fipe.fipepriceexplorer.crawler.CatalogCrawler;
+import br.com.fipe.fipepriceexplorer.crawler.CrawlSummary;
+import br.com.fipe.fipepriceexplorer.snapshot.PriceSnapshotWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+@Component
+@ConditionalOnProperty(name = "fipe.mode", havingValue = "crawl")
+public class CrawlRunner implements CommandLineRunner {
+
+    private static final int PROGRESS_STEP = 100;
+
+    private final CatalogCrawler catalogCrawler;
+    private final PriceSnapshotWriter snapshotWriter;
+    private final Path output;
+    private final Path snapshot;
+
+    public CrawlRunner(
+            CatalogCrawler catalogCrawler,
+            PriceSnapshotWriter snapshotWriter,
+            @Value("${fipe.crawl.output:fipe-catalog.jsonl}") Path output,
+            @Value("${fipe.snapshot.path:fipe-catalog.snapshot}") Path snapshot) {
+        this.catalogCrawler = catalogCrawler;
+        this.snapshotWriter = snapshotWriter;
+        this.output = output;
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public void run(String... args) {
+        System.out.println("\n🚚 Crawling the FIPE car catalog into " + output.toAbsolutePath());
+
+        CrawlSummary summary = catalogCrawler.crawl(output, saved -> {
+            if (saved % PROGRESS_STEP == 0) {
+                System.out.println("⏳ " + saved + " prices saved...");
+            }
+        });
+
+        System.out.println("\n✅ Crawl finished. New prices: " + summary.saved()
+                + " | Resumed from checkpoint: " + summary.resumed()
+                + " | Failed lookups: " + summary.failed());
+
+        if (summary.failed() > 0) {
+            System.out.println("⚠️ Run the crawl again to retry the failed lookups.");
+        }
+
+        int rows = snapshotWriter.writeFromCatalog(output, snapshot);
+        System.out.println("💾 Price snapshot with " + rows + " rows written to " + snapshot.toAbsolutePath());
+    }
+}
@@ -1,34 +1,68 @@
 package br.com.fipe.fipepriceexplorer.runner;
 
+import br.com.fipe.fipepriceexplorer.analytics.AnalyticsQuery;
+import br.com.fipe.fipepriceexplorer.analytics.GroupBy;
+import br.com.fipe.fipepriceexplorer.analytics.PriceAnalytics;
+import br.com.fipe.fipepriceexplorer.analytics.PriceAnalyticsEngine;
+import br.com.fipe.fipepriceexplorer.catalog.OfflineCatalog;
 import br.com.fipe.fipepriceexplorer.dto.FipeBrandDTO;
 import br.com.fipe.fipepriceexplorer.dto.FipeModelDTO;
 import br.com.fipe.fipepriceexplorer.dto.VehicleModelsDTO;
+import br.com.fipe.fipepriceexplorer.search.CatalogSearchIndex;
+import br.com.fipe.fipepriceexplorer.search.SearchHit;
 import br.com.fipe.fipepriceexplorer.service.FipeService;
+import br.com.fipe.fipepriceexplorer.service.NavigationPrefetcher;
+import br.com.fipe.fipepriceexplorer.service.YearPriceResult;
 import br.com.fipe.fipepriceexplorer.util.ConsoleTablePrinter;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
 
 @Component
+@ConditionalOnProperty(name = "fipe.mode", havingValue = "interactive", matchIfMissing = true)
 public class FipeRunner implements CommandLineRunner {
 
+    private static final int SEARCH_LIMIT = 20;
+    private static final int ANALYTICS_TOP = 5;
+    private static final int ANALYTICS_YEAR_BAND = 5;
+
     private final FipeService fipeService;
+    private final CatalogSearchIndex searchIndex;
+    private final NavigationPrefetcher prefetcher;
+    private final OfflineCatalog offlineCatalog;
+    private final PriceAnalytics analytics;
     private final Scanner sc = new Scanner(System.in);
     private final ConfigurableApplicationContext context;
 
-    public FipeRunner(FipeService fipeService, ConfigurableApplicationContext context) {
+    public FipeRunner(
+            FipeService fipeService,
+            CatalogSearchIndex searchIndex,
+            NavigationPrefetcher prefetcher,
+            OfflineCatalog offlineCatalog,
+            PriceAnalytics analytics,
+            ConfigurableApplicationContext context) {
         this.fipeService = fipeService;
+        this.searchIndex = searchIndex;
+        this.prefetcher = prefetcher;
+        this.offlineCatalog = offlineCatalog;
+        this.analytics = analytics;
         this.context = context;
     }
 
     @Override
     public void run(String... args) {
         boolean running = true;
+        offlineCatalog.graph().ifPresent(graph -> System.out.println("\n📚 Offline catalog: " + graph.brandCount()
+                + " brands, " + graph.modelCount() + " models, " + graph.yearCount() + " model years (~"
+                + graph.footprintBytes() / 1024 + " KiB). Navigation is answered locally; prices still come from the API."));
+        prefetcher.warmBrands();
 
         while (running) {
             System.out.println("""
@@ -42,6 +76,8 @@ public class FipeRunner implements CommandLineRunner {
                 1 - List all brands
                 2 - Search brand by name
                 3 - Search brand by code
+                4 - Search model by name (all brands)
+                5 - Price analytics (local snapshot)
                 0 - Exit
                 """);
 
@@ -54,11 +90,13 @@ public class FipeRunner implements CommandLineRunner {
                     case 1 -> listAndProcessBrands();
                     case 2 -> searchAndProcessBrand();
                     case 3 -> processVehicleSelection();
+                    case 4 -> searchAndProcessModel();
+                    case 5 -> runAnalytics();
                     case 0 -> {
                         System.out.println("\n👋 Exiting application. See you next time!");
                         running = false;
                     }
-                    default -> System.out.println("\n⚠️ Invalid option. Please choose 0, 1 or 2.");
+                    default -> System.out.println("\n⚠️ Invalid option. Please choose 0, 1, 2, 3, 4 or 5.");
                 }
 
             } catch (NumberFormatException e) {
@@ -83,20 +121,16 @@ public class FipeRunner implements CommandLineRunner {
                 return;
             }
 
-            List<FipeBrandDTO> brands = fipeService.listCarBrands();
-
-            List<FipeBrandDTO> filteredBrands = brands.stream()
-                    .filter(b -> b.getName().toUpperCase().contains(brandName.toUpperCase()))
-                    .toList();
+            List<SearchHit> hits = searchIndex.searchBrands(brandName, SEARCH_LIMIT);
 
-            if (filteredBrands.isEmpty()) {
+            if (hits.isEmpty()) {
                 System.out.println("\n⚠️ No brands found matching your search.");
                 return;
             }
 
             System.out.println("\n✅ Brands found:");
-            filteredBrands.forEach(
-                    b -> System.out.println(b.getCode() + " - " + b.getName().toUpperCase()));
+            hits.forEach(h -> System.out.println(h.code() + " - " + h.name().toUpperCase()));
+            prefetcher.brandSelected(hits.getFirst().code());
 
             processVehicleSelection();
 
@@ -107,6 +141,121 @@ public class FipeRunner implements CommandLineRunner {
         }
     }
 
+    private void searchAndProcessModel() {
+        try {
+            System.out.print("\n🔍 Enter model name (or part of it): ");
+            String modelName = sc.nextLine().trim();
+
+            if (modelName.isBlank()) {
+                System.out.println("\n⚠️ Model name cannot be empty.");
+                return;
+            }
+
+            if (!searchIndex.isModelIndexReady()) {
+                System.out.println("\n⏳ Indexing models of every brand. This only happens once per session...");
+            }
+
+            List<SearchHit> hits = searchIndex.searchModels(modelName, SEARCH_LIMIT);
+
+            if (hits.isEmpty()) {
+                System.out.println("\n⚠️ No models found matching your search.");
+                return;
+            }
+
+            System.out.println("\n✅ Models found:\n");
+            hits.forEach(h -> System.out.println("Brand " + h.brandCode() + " (" + h.brandName().toUpperCase()
+                    + ") | Model " + h.code() + " - " + h.name().toUpperCase()));
+            prefetcher.modelHitsListed(hits);
+
+            System.out.print("\n➡️ Enter the brand code: ");
+            String brandCode = sc.nextLine().trim();
+
+            System.out.print("\n➡️ Enter the model code: ");
+            String modelCode = sc.nextLine().trim();
+
+            if (brandCode.isBlank() || modelCode.isBlank()) {
+                System.out.println("\n⚠️ Brand and model codes cannot be empty.");
+                return;
+            }
+
+            displayPrices(brandCode, modelCode, "");
+
+        } catch (RuntimeException e) {
+            System.out.println("\n🚨 " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println("\n❌ Unexpected error while searching models.");
+        }
+    }
+
+    private void runAnalytics() {
+        try {
+            Optional<PriceAnalyticsEngine> engine = analytics.engine();
+            if (engine.isEmpty()) {
+                System.out.println("\n⚠️ No price snapshot at " + analytics.snapshotFile().toAbsolutePath()
+                        + ". Run the crawl mode first.");
+                return;
+            }
+
+            System.out.print("""
+
+                Report:
+                1 - Price distribution (percentiles)
+                2 - Cheapest vehicles
+                3 - Priciest vehicles
+                Choose a report: """);
+            int report = Integer.parseInt(sc.nextLine().trim());
+            if (report < 1 || report > 3) {
+                System.out.println("\n⚠️ Invalid report. Please choose 1, 2 or 3.");
+                return;
+            }
+
+            System.out.print("""
+
+                Group by:
+                0 - Nothing (whole catalog)
+                1 - Brand
+                2 - Fuel
+                3 - Model year
+                4 - Model year band (%d years)
+                5 - Brand and model year
+                6 - Brand and fuel
+                Choose a grouping: """.formatted(ANALYTICS_YEAR_BAND));
+            int grouping = Integer.parseInt(sc.nextLine().trim());
+            if (grouping < 0 || grouping >= GroupBy.values().length) {
+                System.out.println("\n⚠️ Invalid grouping. Please choose a number from 0 to 6.");
+                return;
+            }
+
+            System.out.print("\n➡️ Fuel (e.g. Diesel) or press ENTER for all: ");
+            String fuel = sc.nextLine().trim();
+
+            System.out.print("\n➡️ Brand name or press ENTER for all: ");
+            String brand = sc.nextLine().trim();
+
+            AnalyticsQuery query = new AnalyticsQuery(
+                    report != 1,
+                    GroupBy.values()[grouping],
+                    brand,
+                    fuel,
+                    0,
+                    0,
+                    ANALYTICS_YEAR_BAND,
+                    ANALYTICS_TOP,
+                    report == 2);
+
+            System.out.println("\n📈 " + query.describe() + " over " + engine.get().columns().rowCount() + " prices");
+            long elapsedMicros = query.runAndPrint(engine.get());
+            System.out.println("\n✅ Aggregated in " + elapsedMicros + " µs.");
+
+        } catch (NumberFormatException e) {
+            System.out.println("\n⚠️ Invalid input. Please enter a numeric option.");
+        } catch (RuntimeException e) {
+            System.out.println("\n🚨 " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println("\n❌ Unexpected error while running analytics.");
+        }
+    }
+
     private void listAndProcessBrands() {
         try {
             List<FipeBrandDTO> brands = fipeService.listCarBrands();
@@ -141,6 +290,7 @@ public class FipeRunner implements CommandLineRunner {
                 System.out.println("\n⚠️ Brand code cannot be empty.");
                 return;
             }
+            prefetcher.brandSelected(brandCode);
 
             System.out.print("\n➡️ Enter vehicle year (YYYY) or press ENTER to list all models: ");
             String yearInput = sc.nextLine().trim();
@@ -170,16 +320,31 @@ public class FipeRunner implements CommandLineRunner {
 
     private void displayPrices(String brandCode, String modelCode, String yearInput) {
         try {
+            prefetcher.cancel();
             Optional<String> yearOpt = yearInput.isBlank() ? Optional.empty() : Optional.of(yearInput);
 
-            var prices = fipeService.listPricesForAllYears(brandCode, modelCode, yearOpt);
+            List<YearPriceResult> failures = new ArrayList<>();
+            int printed;
+
+            try (ConsoleTablePrinter.PriceTableStream table = ConsoleTablePrinter.openPriceTable()) {
+                for (YearPriceResult result :
+                        fipeService.priceResultsForAllYears(brandCode, modelCode, yearOpt)) {
+                    if (result.isSuccess()) {
+                        table.print(result.price());
+                    } else {
+                        failures.add(result);
+                    }
+                }
+                printed = table.rows();
+            }
 
-            if (prices.isEmpty()) {
+            if (printed == 0 && failures.isEmpty()) {
                 System.out.println("\n⚠️ No price data found for this selection.");
                 return;
             }
 
-            ConsoleTablePrinter.printPriceTable(prices);
+            failures.forEach(r -> System.out.println(
+                    "\n⚠️ Price for year code " + r.yearCode() + " unavailable: " + r.errorMessage()));
 
         } catch (RuntimeException e) {
             System.out.println("\n🚨 " + e.getMessage());
@@ -204,6 +369,9 @@ public class FipeRunner implements CommandLineRunner {
                     .map(m -> m.modelCode() + " - " + m.modelDetails().toUpperCase())
                     .forEach(System.out::println);
 
+            prefetcher.modelsListed(
+                    brandCode, models.stream().map(VehicleModelsDTO::modelCode).toList(), yearInput);
+
         } catch (RuntimeException e) {
             System.out.println("\n🚨 " + e.getMessage());
         } catch (Exception e) {
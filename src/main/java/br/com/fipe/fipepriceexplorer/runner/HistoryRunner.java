@@ -0,0 +1,151 @@
+package br.com.fipe.fipepriceexplorer.runner;
+
+import br.com.fipe.fipepriceexplorer.dto.FipeReferenceDTO;
+import br.com.fipe.fipepriceexplorer.history.BackfillSummary;
+import br.com.fipe.fipepriceexplorer.history.Depreciation;
+import br.com.fipe.fipepriceexplorer.history.PriceHistoryBackfiller;
+import br.com.fipe.fipepriceexplorer.history.PriceHistoryStore;
+import br.com.fipe.fipepriceexplorer.history.PricePoint;
+import br.com.fipe.fipepriceexplorer.history.SeriesKey;
+import br.com.fipe.fipepriceexplorer.util.FipePriceFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+@Component
+@ConditionalOnProperty(name = "fipe.mode", havingValue = "history")
+public class HistoryRunner implements CommandLineRunner {
+
+    private static final int PROGRESS_STEP = 500;
+
+    private final PriceHistoryBackfiller backfiller;
+    private final Path catalog;
+    private final Path historyFile;
+    private final int months;
+    private final int top;
+    private final String vehicle;
+
+    public HistoryRunner(
+            PriceHistoryBackfiller backfiller,
+            @Value("${fipe.crawl.output:fipe-catalog.jsonl}") Path catalog,
+            @Value("${fipe.history.path:fipe-history.bin}") Path historyFile,
+            @Value("${fipe.history.months:60}") int months,
+            @Value("${fipe.history.top:100}") int top,
+            @Value("${fipe.history.vehicle:}") String vehicle) {
+        this.backfiller = backfiller;
+        this.catalog = catalog;
+        this.historyFile = historyFile;
+        this.months = months;
+        this.top = top;
+        this.vehicle = vehicle.trim();
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!Files.isRegularFile(catalog)) {
+            System.out.println("\n🚨 Catalog file not found: " + catalog.toAbsolutePath()
+                    + ". Run the crawl mode first.");
+            return;
+        }
+
+        List<FipeReferenceDTO> references = backfiller.latestReferences(months);
+        if (references.isEmpty()) {
+            System.out.println("\n🚨 The FIPE API returned no reference months.");
+            return;
+        }
+
+        try (PriceHistoryStore store = PriceHistoryStore.open(historyFile)) {
+            System.out.println("\n🕰️ Backfilling " + references.size() + " reference months ("
+                    + references.getLast().month() + " → " + references.getFirst().month() + ") into "
+                    + historyFile.toAbsolutePath());
+
+            BackfillSummary summary = backfiller.backfill(store, catalog, references, saved -> {
+                if (saved % PROGRESS_STEP == 0) {
+                    System.out.println("⏳ " + saved + " historical prices saved...");
+                }
+            });
+
+            System.out.println("\n✅ Backfill finished. Vehicles: " + summary.series()
+                    + " | New prices: " + summary.saved()
+                    + " | Already stored: " + summary.alreadyStored()
+                    + " | Not listed: " + summary.unavailable()
+                    + " | Failed: " + summary.failed());
+
+            if (vehicle.isEmpty()) {
+                printTopDepreciators(store, references);
+            } else {
+                printTrajectory(store, references);
+            }
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to close price history at " + historyFile + ".", ex);
+        }
+    }
+
+    private void printTrajectory(PriceHistoryStore store, List<FipeReferenceDTO> references) {
+        String[] codes = vehicle.split("/");
+        if (codes.length != 3) {
+            System.out.println("\n⚠️ fipe.history.vehicle must be brand/model/yearCode, for example 59/5940/2014-1.");
+            return;
+        }
+
+        SeriesKey key = new SeriesKey(codes[0].trim(), codes[1].trim(), codes[2].trim());
+        List<PricePoint> trajectory = store.trajectory(
+                key,
+                PriceHistoryBackfiller.referenceCode(references.getLast()),
+                PriceHistoryBackfiller.referenceCode(references.getFirst()));
+        if (trajectory.isEmpty()) {
+            System.out.println("\n⚠️ No stored prices for brand " + key.brandCode() + ", model " + key.modelCode()
+                    + ", year " + key.yearCode() + ". Is it in the crawled catalog?");
+            return;
+        }
+
+        System.out.println("\n📈 Price trajectory of brand " + key.brandCode() + ", model " + key.modelCode()
+                + ", year " + key.yearCode() + " over " + trajectory.size() + " reference months:");
+        long first = trajectory.getFirst().priceCentavos();
+        for (PricePoint point : trajectory) {
+            System.out.printf(
+                    Locale.ROOT,
+                    "   %s: %s (%+.1f%%)%n",
+                    point.referenceMonth(),
+                    FipePriceFormat.format(point.priceCentavos()),
+                    first > 0 ? (double) (point.priceCentavos() - first) / first * 100 : 0.0);
+        }
+    }
+
+    private void printTopDepreciators(PriceHistoryStore store, List<FipeReferenceDTO> references) {
+        int from = PriceHistoryBackfiller.referenceCode(references.getLast());
+        int to = PriceHistoryBackfiller.referenceCode(references.getFirst());
+
+        long start = System.nanoTime();
+        List<Depreciation> ranked = store.topDepreciators(top, from, to);
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+
+        System.out.println("\n📉 Top " + ranked.size() + " depreciators out of " + store.seriesCount()
+                + " vehicles (" + elapsedMicros + " µs):");
+        int position = 1;
+        for (Depreciation depreciation : ranked) {
+            SeriesKey key = depreciation.key();
+            System.out.printf(
+                    Locale.ROOT,
+                    "%3d. brand %s, model %s, year %s: %s (%s) → %s (%s), -%.1f%%%n",
+                    position++,
+                    key.brandCode(),
+                    key.modelCode(),
+                    key.yearCode(),
+                    FipePriceFormat.format(depreciation.from().priceCentavos()),
+                    depreciation.from().referenceMonth(),
+                    FipePriceFormat.format(depreciation.to().priceCentavos()),
+                    depreciation.to().referenceMonth(),
+                    depreciation.lossRatio() * 100);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.fipe.fipepriceexplorer.runner;
+
+import br.com.fipe.fipepriceexplorer.refresh.CatalogRefresher;
+import br.com.fipe.fipepriceexplorer.refresh.RefreshSummary;
+import br.com.fipe.fipepriceexplorer.snapshot.PriceSnapshotWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+@Component
+@ConditionalOnProperty(name = "fipe.mode", havingValue = "refresh")
+public class RefreshRunner implements CommandLineRunner {
+
+    private static final int PROGRESS_STEP = 100;
+
+    private final CatalogRefresher catalogRefresher;
+    private final PriceSnapshotWriter snapshotWriter;
+    private final Path catalog;
+    private final Path manifest;
+    private final Path snapshot;
+    private final boolean force;
+
+    public RefreshRunner(
+            CatalogRefresher catalogRefresher,
+            PriceSnapshotWriter snapshotWriter,
+            @Value("${fipe.crawl.output:fipe-catalog.jsonl}") Path catalog,
+            @Value("${fipe.refresh.manifest:fipe-catalog.manifest.json}") Path manifest,
+            @Value("${fipe.snapshot.path:fipe-catalog.snapshot}") Path snapshot,
+            @Value("${fipe.refresh.force:false}") boolean force) {
+        this.catalogRefresher = catalogRefresher;
+        this.snapshotWriter = snapshotWriter;
+        this.catalog = catalog;
+        this.manifest = manifest;
+        this.snapshot = snapshot;
+        this.force = force;
+    }
+
+    @Override
+    public void run(String... args) {
+        System.out.println("\n🔄 Refreshing the FIPE car catalog at " + catalog.toAbsolutePath());
+
+        RefreshSummary summary = catalogRefresher.refresh(catalog, manifest, force, priced -> {
+            if (priced % PROGRESS_STEP == 0) {
+                System.out.println("⏳ " + priced + " prices fetched...");
+            }
+        });
+
+        if (summary.upToDate()) {
+            System.out.println("\n✅ Catalog already matches reference month " + summary.referenceMonth()
+                    + ". Nothing to do (use --fipe.refresh.force=true to re-check the lists).");
+            return;
+        }
+
+        System.out.println("\n✅ Refresh finished for " + summary.referenceMonth() + ". Lists checked: "
+                + summary.listsChecked()
+                + " | Not modified: " + summary.listsNotModified()
+                + " | Same content: " + summary.listsUnchanged()
+                + " | Changed: " + summary.listsChanged()
+                + " | Failed: " + summary.listsFailed());
+        System.out.println("💾 Prices fetched: " + summary.pricesFetched()
+                + " | Kept: " + summary.pricesKept()
+                + " | Removed: " + summary.pricesRemoved()
+                + " | Failed: " + summary.pricesFailed());
+
+        if (summary.listsFailed() > 0 || summary.pricesFailed() > 0) {
+            System.out.println("⚠️ Run the refresh again to retry the failed lookups.");
+        }
+
+        // Rows keep the month they were priced for; a partly refreshed catalog is labelled as mixed.
+        int rows = snapshotWriter.writeFromCatalog(catalog, snapshot);
+        System.out.println("💾 Price snapshot with " + rows + " rows written to " + snapshot.toAbsolutePath());
+    }
+}
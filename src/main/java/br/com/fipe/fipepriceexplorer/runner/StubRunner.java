@@ -0,0 +1,46 @@
+package br.com.fipe.fipepriceexplorer.runner;
+
+import br.com.fipe.fipepriceexplorer.config.StubProperties;
+import br.com.fipe.fipepriceexplorer.replay.ReplayStubServer;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.util.Locale;
+
+@Component
+@ConditionalOnProperty(name = "fipe.mode", havingValue = "stub")
+public class StubRunner implements CommandLineRunner {
+
+    private final StubProperties properties;
+
+    public StubRunner(StubProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!Files.isDirectory(properties.dir())) {
+            System.out.println("\n🚨 Recordings directory not found: " + properties.dir().toAbsolutePath()
+                    + ". Record a session first with --fipe.record.dir.");
+            return;
+        }
+
+        ReplayStubServer server = ReplayStubServer.start(properties);
+        System.out.println("\n🧪 Replaying " + properties.dir().toAbsolutePath() + " at " + server.baseUrl()
+                + " | Latency: " + properties.latency().name().toLowerCase(Locale.ROOT)
+                + " (median " + properties.latencyMedian().toMillis() + " ms, p99 "
+                + properties.latencyP99().toMillis() + " ms)"
+                + " | Error rate: " + properties.errorRate()
+                + (properties.throttleEvery().isZero()
+                        ? ""
+                        : " | 429 for " + properties.throttleFor().toMillis() + " ms every "
+                                + properties.throttleEvery().toMillis() + " ms"));
+        System.out.println("Point clients at it with --fipe.api.base-url=" + server.baseUrl()
+                + " or the replay profile.");
+
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.awaitShutdown();
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.fipe.fipepriceexplorer.search;
+
+import br.com.fipe.fipepriceexplorer.dto.FipeBrandDTO;
+import br.com.fipe.fipepriceexplorer.service.FipeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class CatalogSearchIndex {
+
+    private static final Duration INITIAL_RETRY_DELAY = Duration.ofSeconds(5);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(5);
+
+    private final FipeService fipeService;
+    private final int concurrency;
+    private final AtomicBoolean retrying = new AtomicBoolean();
+
+    private volatile Index brandIndex;
+    private volatile Index modelIndex;
+    private volatile Duration retryDelay = INITIAL_RETRY_DELAY;
+    private volatile long nextRetryAt;
+
+    public CatalogSearchIndex(FipeService fipeService, @Value("${fipe.search.concurrency:4}") int concurrency) {
+        this.fipeService = fipeService;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    public List<SearchHit> searchBrands(String query, int limit) {
+        return brands().search(query, limit);
+    }
+
+    public List<SearchHit> searchModels(String query, int limit) {
+        return models().search(query, limit);
+    }
+
+    public boolean isModelIndexReady() {
+        return modelIndex != null;
+    }
+
+    public synchronized void invalidate() {
+        brandIndex = null;
+        modelIndex = null;
+        retryDelay = INITIAL_RETRY_DELAY;
+        nextRetryAt = 0;
+    }
+
+    private Index brands() {
+        Index index = brandIndex;
+        if (index != null) {
+            return index;
+        }
+
+        synchronized (this) {
+            if (brandIndex == null) {
+                List<Entry> entries = fipeService.listCarBrands().stream()
+                        .map(b -> new Entry(b.getCode(), b.getName(), b.getCode(), b.getName()))
+                        .toList();
+                brandIndex = new Index(entries, List.of());
+            }
+            return brandIndex;
+        }
+    }
+
+    private Index models() {
+        Index index = modelIndex;
+        if (index == null) {
+            synchronized (this) {
+                if (modelIndex == null) {
+                    Batch batch = fetchModels(fipeService.listCarBrands()).block();
+                    modelIndex = new Index(batch.entries(), batch.failedBrands());
+                    nextRetryAt = System.nanoTime() + retryDelay.toNanos();
+                }
+                index = modelIndex;
+            }
+        }
+
+        if (!index.complete()) {
+            retryFailedBrands(index);
+        }
+        return index;
+    }
+
+    // Searches keep using the partial index while the brands that failed are fetched again in the background.
+    private void retryFailedBrands(Index partial) {
+        if (System.nanoTime() < nextRetryAt || !retrying.compareAndSet(false, true)) {
+            return;
+        }
+
+        fetchModels(partial.failedBrands())
+                .doFinally(signal -> retrying.set(false))
+                .subscribe(batch -> {
+                    synchronized (this) {
+                        if (modelIndex != partial) {
+                            return;
+                        }
+                        List<Entry> entries = new ArrayList<>(partial.entries());
+                        entries.addAll(batch.entries());
+                        modelIndex = new Index(entries, batch.failedBrands());
+                        Duration doubled = retryDelay.multipliedBy(2);
+                        retryDelay = doubled.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : doubled;
+                        nextRetryAt = System.nanoTime() + retryDelay.toNanos();
+                    }
+                });
+    }
+
+    private Mono<Batch> fetchModels(List<FipeBrandDTO> brands) {
+        Queue<FipeBrandDTO> failed = new ConcurrentLinkedQueue<>();
+
+        return Flux.fromIterable(brands)
+                .flatMap(
+                        brand -> fipeService
+                                .fetchModelsByBrand(brand.getCode())
+                                .map(m -> new Entry(brand.getCode(), brand.getName(), m.getCode(), m.getName()))
+                                .onErrorResume(ex -> {
+                                    failed.add(brand);
+                                    return Flux.empty();
+                                }),
+                        concurrency)
+                .collectList()
+                .map(entries -> new Batch(entries, List.copyOf(failed)));
+    }
+
+    private record Batch(List<Entry> entries, List<FipeBrandDTO> failedBrands) {}
+
+    private record Entry(String brandCode, String brandName, String code, String name) {}
+
+    private static final class Index {
+        private final List<Entry> entries;
+        private final NameIndex names;
+        private final List<FipeBrandDTO> failedBrands;
+
+        Index(List<Entry> entries, List<FipeBrandDTO> failedBrands) {
+            this.entries = List.copyOf(entries);
+            this.names = new NameIndex(this.entries.stream().map(Entry::name).toList());
+            this.failedBrands = List.copyOf(failedBrands);
+        }
+
+        List<Entry> entries() {
+            return entries;
+        }
+
+        List<FipeBrandDTO> failedBrands() {
+            return failedBrands;
+        }
+
+        boolean complete() {
+            return failedBrands.isEmpty();
+        }
+
+        List<SearchHit> search(String query, int limit) {
+            return names.search(query, limit).stream()
+                    .map(match -> {
+                        Entry e = entries.get(match.id());
+                        return new SearchHit(e.brandCode(), e.brandName(), e.code(), e.name(), match.score());
+                    })
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package br.com.fipe.fipepriceexplorer.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class NameIndex {
+
+    private static final double EXACT = 1.0;
+    private static final double PREFIX = 0.9;
+    private static final double SUBSTRING = 0.7;
+    private static final double FUZZY = 0.5;
+    private static final double MIN_SIMILARITY = 0.35;
+
+    private final String[] normalized;
+    private final Integer[] sorted;
+    private final int[] trigramCounts;
+    private final Map<Long, int[]> postings;
+
+    NameIndex(List<String> names) {
+        this.normalized = names.stream().map(TextNormalizer::normalize).toArray(String[]::new);
+
+        this.sorted = new Integer[normalized.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, Comparator.comparing(i -> normalized[i]));
+
+        this.trigramCounts = new int[normalized.length];
+        Map<Long, List<Integer>> building = new HashMap<>();
+        for (int id = 0; id < normalized.length; id++) {
+            Set<Long> trigrams = trigrams(normalized[id], true);
+            trigramCounts[id] = trigrams.size();
+            for (Long trigram : trigrams) {
+                building.computeIfAbsent(trigram, t -> new ArrayList<>()).add(id);
+            }
+        }
+
+        this.postings = new HashMap<>(building.size() * 2);
+        building.forEach((trigram, ids) -> postings.put(trigram, ids.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    int size() {
+        return normalized.length;
+    }
+
+    List<Match> search(String query, int limit) {
+        String q = TextNormalizer.normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+        collectPrefixMatches(q, scores);
+        collectSubstringMatches(q, scores);
+        collectFuzzyMatches(q, scores);
+
+        return scores.entrySet().stream()
+                .map(e -> new Match(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparingDouble(Match::score)
+                        .reversed()
+                        .thenComparing(m -> normalized[m.id()].length())
+                        .thenComparing(m -> normalized[m.id()]))
+                .limit(limit)
+                .toList();
+    }
+
+    private void collectPrefixMatches(String q, Map<Integer, Double> scores) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (normalized[sorted[mid]].compareTo(q) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        for (int i = low; i < sorted.length && normalized[sorted[i]].startsWith(q); i++) {
+            int id = sorted[i];
+            score(scores, id, normalized[id].length() == q.length() ? EXACT : PREFIX);
+        }
+    }
+
+    private void collectSubstringMatches(String q, Map<Integer, Double> scores) {
+        if (q.length() < 3) {
+            for (int id = 0; id < normalized.length; id++) {
+                if (normalized[id].contains(q)) {
+                    score(scores, id, SUBSTRING);
+                }
+            }
+            return;
+        }
+
+        int[] candidates = null;
+        for (long trigram : trigrams(q, false)) {
+            int[] ids = postings.get(trigram);
+            if (ids == null) {
+                return;
+            }
+            candidates = candidates == null ? ids : intersect(candidates, ids);
+            if (candidates.length == 0) {
+                return;
+            }
+        }
+
+        if (candidates == null) {
+            return;
+        }
+        for (int id : candidates) {
+            if (normalized[id].contains(q)) {
+                score(scores, id, SUBSTRING);
+            }
+        }
+    }
+
+    private void collectFuzzyMatches(String q, Map<Integer, Double> scores) {
+        Set<Long> queryTrigrams = trigrams(q, true);
+        if (queryTrigrams.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (Long trigram : queryTrigrams) {
+            int[] ids = postings.get(trigram);
+            if (ids != null) {
+                for (int id : ids) {
+                    shared.merge(id, 1, Integer::sum);
+                }
+            }
+        }
+
+        shared.forEach((id, common) -> {
+            double similarity = (double) common / (queryTrigrams.size() + trigramCounts[id] - common);
+            if (similarity >= MIN_SIMILARITY) {
+                score(scores, id, FUZZY * similarity);
+            }
+        });
+    }
+
+    private static void score(Map<Integer, Double> scores, int id, double score) {
+        scores.merge(id, score, Math::max);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                result[n++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static Set<Long> trigrams(String text, boolean padded) {
+        String source = padded ? " " + text + " " : text;
+        Set<Long> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= source.length(); i++) {
+            trigrams.add(((long) source.charAt(i) << 32) | ((long) source.charAt(i + 1) << 16) | source.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    record Match(int id, double score) {}
+}
@@ -0,0 +1,3 @@
+package br.com.fipe.fipepriceexplorer.search;
+
+public record SearchHit(String brandCode, String brandName, String code, String name, double score) {}
@@ -1,57 +1,191 @@
 package br.com.fipe.fipepriceexplorer.service;
 
+import br.com.fipe.fipepriceexplorer.catalog.CatalogGraph;
+import br.com.fipe.fipepriceexplorer.catalog.OfflineCatalog;
 import br.com.fipe.fipepriceexplorer.client.FipeClient;
 import br.com.fipe.fipepriceexplorer.dto.*;
+import br.com.fipe.fipepriceexplorer.execution.StructuredExecutor;
+import br.com.fipe.fipepriceexplorer.metrics.FipeMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class FipeService {
     private final FipeClient fipeClient;
-
-    public FipeService(FipeClient fipeClient) {
+    private final int priceConcurrency;
+    private final Duration priceTimeout;
+    private final FipeMetrics metrics;
+    private final StructuredExecutor executor;
+    private final OfflineCatalog offlineCatalog;
+
+    public FipeService(
+            FipeClient fipeClient,
+            FipeMetrics metrics,
+            StructuredExecutor executor,
+            OfflineCatalog offlineCatalog,
+            @Value("${fipe.prices.concurrency:8}") int priceConcurrency,
+            @Value("${fipe.prices.timeout:10s}") Duration priceTimeout) {
         this.fipeClient = fipeClient;
+        this.metrics = metrics;
+        this.executor = executor;
+        this.offlineCatalog = offlineCatalog;
+        this.priceConcurrency = Math.max(1, priceConcurrency);
+        this.priceTimeout = priceTimeout;
+    }
+
+    /** Whether navigation for this brand is answered from the resident catalog graph instead of the API. */
+    public boolean isOffline(String brandCode) {
+        return offlineCatalog.covering(brandCode).isPresent();
     }
 
     public List<FipeBrandDTO> listCarBrands() {
-        return fipeClient.getCarsBrands();
+        return residentGraph().map(CatalogGraph::brands).orElseGet(fipeClient::getCarsBrands);
+    }
+
+    public Flux<FipeBrandDTO> fetchCarBrands() {
+        return Flux.defer(() -> residentGraph()
+                .map(graph -> Flux.fromIterable(graph.brands()))
+                .orElseGet(fipeClient::fetchCarsBrands));
     }
 
     public List<FipeModelDTO> listModelsByBrand(String brandCode) {
 
-        return fipeClient.getModelsByBrand(brandCode);
+        return offlineCatalog.covering(brandCode)
+                .map(graph -> graph.models(brandCode))
+                .orElseGet(() -> fipeClient.getModelsByBrand(brandCode));
     }
 
-    public List<FipePriceDTO> listPricesForAllYears(String brandCode, String modelCode, Optional<String> year) {
+    public Flux<FipeModelDTO> fetchModelsByBrand(String brandCode) {
+        return Flux.defer(() -> offlineCatalog.covering(brandCode)
+                .map(graph -> Flux.fromIterable(graph.models(brandCode)))
+                .orElseGet(() -> fipeClient.fetchModelsByBrand(brandCode)));
+    }
 
-        List<FipeYearDTO> years = fipeClient.getYearsByModel(brandCode, modelCode);
+    public Flux<FipeYearDTO> fetchYearsByModel(String brandCode, String modelCode) {
+        return Flux.defer(() -> offlineCatalog.graph()
+                .filter(graph -> graph.containsModel(brandCode, modelCode))
+                .map(graph -> Flux.fromIterable(graph.years(brandCode, modelCode)))
+                .orElseGet(() -> fipeClient.fetchYearsByModel(brandCode, modelCode)));
+    }
 
-        if (year.isEmpty()) {
-            return years.stream()
-                    .map(y -> fipeClient.getPriceByYear(brandCode, modelCode, y.getYear()))
-                    .toList();
-        }
+    private List<FipeYearDTO> listYearsByModel(String brandCode, String modelCode) {
+        return offlineCatalog.graph()
+                .filter(graph -> graph.containsModel(brandCode, modelCode))
+                .map(graph -> graph.years(brandCode, modelCode))
+                .orElseGet(() -> fipeClient.getYearsByModel(brandCode, modelCode));
+    }
 
-        String yearInput = year.get();
+    private Optional<CatalogGraph> residentGraph() {
+        return offlineCatalog.complete().filter(graph -> graph.brandCount() > 0);
+    }
 
-        List<FipeYearDTO> matchedYears = years.stream()
-                .filter(y -> y.getYear().startsWith(yearInput + "-"))
-                .toList();
+    public List<FipePriceDTO> listPricesForAllYears(String brandCode, String modelCode, Optional<String> year) {
 
-        return matchedYears.stream()
-                .map(y -> fipeClient.getPriceByYear(brandCode, modelCode, y.getYear()))
+        return listPriceResultsForAllYears(brandCode, modelCode, year).stream()
+                .filter(YearPriceResult::isSuccess)
+                .map(YearPriceResult::price)
                 .toList();
     }
     ;
 
+    public Flux<FipePriceDTO> fetchPricesForAllYears(String brandCode, String modelCode, Optional<String> year) {
+        return fetchPriceResultsForAllYears(brandCode, modelCode, year)
+                .filter(YearPriceResult::isSuccess)
+                .map(YearPriceResult::price);
+    }
+
+    public List<YearPriceResult> listPriceResultsForAllYears(
+            String brandCode, String modelCode, Optional<String> year) {
+
+        List<FipeYearDTO> years = listYearsByModel(brandCode, modelCode);
+
+        if (executor.isBlocking()) {
+            return metrics.timeOperation("prices", () -> {
+                List<FipeYearDTO> matched = year
+                        .map(yearInput -> years.stream().filter(y -> y.getYear().startsWith(yearInput + "-")).toList())
+                        .orElse(years);
+                metrics.recordFanOut("prices", matched.size());
+                return executor.invokeAll(
+                        matched, priceConcurrency, y -> fetchYearPrice(brandCode, modelCode, y.getYear()).block());
+            });
+        }
+
+        return metrics.timeOperation(
+                        "prices", fanOutPrices(brandCode, modelCode, matchYears(Flux.fromIterable(years), year)))
+                .collectList()
+                .block();
+    }
+
+    /** Results in the configured execution mode; the reactive one hands each result over as it arrives. */
+    public Iterable<YearPriceResult> priceResultsForAllYears(
+            String brandCode, String modelCode, Optional<String> year) {
+        if (executor.isBlocking()) {
+            return listPriceResultsForAllYears(brandCode, modelCode, year);
+        }
+        return fetchPriceResultsForAllYears(brandCode, modelCode, year).toIterable();
+    }
+
+    public Flux<YearPriceResult> fetchPriceResultsForAllYears(
+            String brandCode, String modelCode, Optional<String> year) {
+
+        return metrics.timeOperation(
+                "prices",
+                fanOutPrices(brandCode, modelCode, matchYears(fetchYearsByModel(brandCode, modelCode), year)));
+    }
+
+    private Flux<FipeYearDTO> matchYears(Flux<FipeYearDTO> years, Optional<String> year) {
+        return year.map(yearInput -> years.filter(y -> y.getYear().startsWith(yearInput + "-")))
+                .orElse(years);
+    }
+
+    private Flux<YearPriceResult> fanOutPrices(String brandCode, String modelCode, Flux<FipeYearDTO> years) {
+        return years.collectList().flatMapMany(matched -> {
+            metrics.recordFanOut("prices", matched.size());
+            return Flux.fromIterable(matched)
+                    .flatMapSequential(y -> fetchYearPrice(brandCode, modelCode, y.getYear()), priceConcurrency);
+        });
+    }
+
+    public Mono<YearPriceResult> fetchYearPrice(String brandCode, String modelCode, String yearCode) {
+        return fipeClient
+                .fetchPriceByYear(brandCode, modelCode, yearCode)
+                .timeout(priceTimeout)
+                .map(price -> YearPriceResult.success(yearCode, price))
+                .switchIfEmpty(Mono.fromSupplier(() -> YearPriceResult.failure(yearCode, "No price data returned.")))
+                .onErrorResume(ex -> Mono.just(YearPriceResult.failure(yearCode, describeFailure(ex))));
+    }
+
+    private String describeFailure(Throwable ex) {
+        if (ex instanceof TimeoutException) {
+            return "No response within " + priceTimeout.toMillis() + " ms.";
+        }
+        return ex.getMessage();
+    }
+
     public List<VehicleModelsDTO> listModelsByBrandAndYear(String brandCode, String year) {
 
         if (year == null || !year.matches("\\d{4}")) {
             throw new IllegalArgumentException("Invalid year format. Use YYYY.");
         }
 
+        Optional<CatalogGraph> graph = offlineCatalog.covering(brandCode);
+        if (graph.isPresent()) {
+            List<VehicleModelsDTO> models = graph.get().modelsByYear(brandCode, Integer.parseInt(year));
+            if (models.isEmpty()) {
+                throw new IllegalArgumentException("No data found for this year.");
+            }
+            return models;
+        }
+
         List<VehicleFuelDTO> allYears = fipeClient.getYearsByAllModels(brandCode);
 
         List<VehicleFuelDTO> matchedYears =
@@ -61,9 +195,54 @@ public class FipeService {
             throw new IllegalArgumentException("No data found for this year.");
         }
 
-        return matchedYears.stream()
-                .flatMap(y -> fipeClient.getModelsByBrandAndYear(brandCode, y.yearCode()).stream())
-                .toList();
+        if (executor.isBlocking()) {
+            return metrics.timeOperation("models-by-year", () -> {
+                metrics.recordFanOut("models-by-year", matchedYears.size());
+                List<List<VehicleModelsDTO>> variants = executor.invokeAll(
+                        matchedYears,
+                        priceConcurrency,
+                        y -> fipeClient.getModelsByBrandAndYear(brandCode, y.yearCode()));
+                Set<String> seen = new HashSet<>();
+                return variants.stream()
+                        .flatMap(List::stream)
+                        .filter(model -> seen.add(model.modelCode()))
+                        .toList();
+            });
+        }
+
+        return metrics.timeOperation("models-by-year", mergeFuelVariants(brandCode, Flux.fromIterable(matchedYears)))
+                .collectList()
+                .block();
     }
     ;
+
+    public Flux<VehicleModelsDTO> fetchModelsByBrandAndYear(String brandCode, String year) {
+
+        if (year == null || !year.matches("\\d{4}")) {
+            return Flux.error(new IllegalArgumentException("Invalid year format. Use YYYY."));
+        }
+
+        Optional<CatalogGraph> graph = offlineCatalog.covering(brandCode);
+        if (graph.isPresent()) {
+            return Flux.fromIterable(graph.get().modelsByYear(brandCode, Integer.parseInt(year)))
+                    .switchIfEmpty(Flux.error(new IllegalArgumentException("No data found for this year.")));
+        }
+
+        Flux<VehicleFuelDTO> matchedYears = fipeClient
+                .fetchYearsByAllModels(brandCode)
+                .filter(y -> y.yearCode().startsWith(year))
+                .switchIfEmpty(Flux.error(new IllegalArgumentException("No data found for this year.")));
+
+        return metrics.timeOperation("models-by-year", mergeFuelVariants(brandCode, matchedYears));
+    }
+
+    private Flux<VehicleModelsDTO> mergeFuelVariants(String brandCode, Flux<VehicleFuelDTO> fuelVariants) {
+        return fuelVariants.collectList().flatMapMany(variants -> {
+            metrics.recordFanOut("models-by-year", variants.size());
+            return Flux.fromIterable(variants)
+                    .flatMapSequential(
+                            y -> fipeClient.fetchModelsByBrandAndYear(brandCode, y.yearCode()), priceConcurrency)
+                    .distinct(VehicleModelsDTO::modelCode);
+        });
+    }
 }
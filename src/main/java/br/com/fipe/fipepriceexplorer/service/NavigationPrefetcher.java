@@ -0,0 +1,88 @@
+package br.com.fipe.fipepriceexplorer.service;
+
+import br.com.fipe.fipepriceexplorer.client.FipeClient;
+import br.com.fipe.fipepriceexplorer.search.SearchHit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/** Each navigation step cancels the previous speculation; failures are left to the foreground call. */
+@Component
+public class NavigationPrefetcher {
+
+    private final FipeService fipeService;
+    private final FipeClient fipeClient;
+    private final boolean enabled;
+    private final int speculativeModels;
+    private final Disposable.Swap speculation = Disposables.swap();
+
+    public NavigationPrefetcher(
+            FipeService fipeService,
+            FipeClient fipeClient,
+            @Value("${fipe.prefetch.enabled:true}") boolean enabled,
+            @Value("${fipe.prefetch.speculative-models:3}") int speculativeModels) {
+        this.fipeService = fipeService;
+        this.fipeClient = fipeClient;
+        this.enabled = enabled;
+        this.speculativeModels = Math.max(0, speculativeModels);
+    }
+
+    public void warmBrands() {
+        warm(fipeService.fetchCarBrands());
+    }
+
+    /** A brand code was entered: its model list and its years list are both one step away. */
+    public void brandSelected(String brandCode) {
+        if (brandCode == null || brandCode.isBlank() || fipeService.isOffline(brandCode)) {
+            return;
+        }
+        warm(Flux.merge(fipeClient.fetchModelsByBrand(brandCode), fipeClient.fetchYearsByAllModels(brandCode)));
+    }
+
+    /** Models were listed for a year: when the list is short, warm each one's price for that year. */
+    public void modelsListed(String brandCode, List<String> modelCodes, String year) {
+        if (modelCodes.size() > speculativeModels) {
+            cancel();
+            return;
+        }
+        warm(Flux.fromIterable(modelCodes).concatMap(modelCode -> warmPrice(brandCode, modelCode, year)));
+    }
+
+    /** Model search results were shown: warm the newest year price of the best few hits. */
+    public void modelHitsListed(List<SearchHit> hits) {
+        warm(Flux.fromIterable(hits)
+                .take(speculativeModels)
+                .concatMap(hit -> warmPrice(hit.brandCode(), hit.code(), null)));
+    }
+
+    /** The user moved on to a foreground lookup: drop whatever speculation has not been sent yet. */
+    public void cancel() {
+        speculation.update(Disposables.disposed());
+    }
+
+    // One price: the newest year of the model, or its first year code for the given year. The whole year list is
+    // read so it completes into the response cache, where the foreground lookup will look for it.
+    private Mono<?> warmPrice(String brandCode, String modelCode, String year) {
+        return fipeService.fetchYearsByModel(brandCode, modelCode)
+                .collectList()
+                .flatMap(years -> Mono.justOrEmpty(years.stream()
+                        .filter(y -> year == null || y.getYear().startsWith(year))
+                        .findFirst()))
+                .flatMap(y -> fipeClient.warmPriceByYear(brandCode, modelCode, y.getYear()))
+                .onErrorResume(ex -> Mono.empty());
+    }
+
+    private void warm(Flux<?> lookups) {
+        if (!enabled) {
+            return;
+        }
+        // Dispose the previous step's lookups before queueing new ones behind them.
+        cancel();
+        speculation.update(lookups.onErrorResume(ex -> Mono.empty()).subscribe());
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.fipe.fipepriceexplorer.service;
+
+import br.com.fipe.fipepriceexplorer.dto.FipePriceDTO;
+
+public record YearPriceResult(String yearCode, FipePriceDTO price, String errorMessage) {
+
+    public static YearPriceResult success(String yearCode, FipePriceDTO price) {
+        return new YearPriceResult(yearCode, price, null);
+    }
+
+    public static YearPriceResult failure(String yearCode, String errorMessage) {
+        return new YearPriceResult(yearCode, null, errorMessage);
+    }
+
+    public boolean isSuccess() {
+        return price != null;
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.fipe.fipepriceexplorer.snapshot;
+
+@FunctionalInterface
+public interface PriceRowVisitor {
+
+    void visit(int row, int brandId, int modelId, int modelYear, int fuelId, long priceCentavos);
+}
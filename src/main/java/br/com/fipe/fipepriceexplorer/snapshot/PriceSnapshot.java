@@ -0,0 +1,199 @@
+package br.com.fipe.fipepriceexplorer.snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class PriceSnapshot implements Closeable {
+
+    static final byte[] MAGIC = "FIPESNAP".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final String referenceMonth;
+    private final int rowCount;
+
+    private final int[] brandCodes;
+    private final String[] brandNames;
+    private final int[] modelCodes;
+    private final String[] modelNames;
+    private final String[] fuelNames;
+
+    private final int brandColumn;
+    private final int modelColumn;
+    private final int yearColumn;
+    private final int fuelColumn;
+    private final int priceColumn;
+
+    private PriceSnapshot(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC) || buffer.getInt() != VERSION) {
+            throw new IllegalArgumentException("File is not a FIPE price snapshot (version " + VERSION + ").");
+        }
+
+        this.referenceMonth = readString(buffer);
+        this.rowCount = buffer.getInt();
+
+        int brandCount = buffer.getInt();
+        this.brandCodes = new int[brandCount];
+        this.brandNames = new String[brandCount];
+        for (int i = 0; i < brandCount; i++) {
+            brandCodes[i] = buffer.getInt();
+            brandNames[i] = readString(buffer);
+        }
+
+        int modelCount = buffer.getInt();
+        this.modelCodes = new int[modelCount];
+        this.modelNames = new String[modelCount];
+        for (int i = 0; i < modelCount; i++) {
+            modelCodes[i] = buffer.getInt();
+            modelNames[i] = readString(buffer);
+        }
+
+        int fuelCount = buffer.getInt();
+        this.fuelNames = new String[fuelCount];
+        for (int i = 0; i < fuelCount; i++) {
+            fuelNames[i] = readString(buffer);
+        }
+
+        this.brandColumn = buffer.position();
+        this.modelColumn = brandColumn + rowCount * Integer.BYTES;
+        this.yearColumn = modelColumn + rowCount * Integer.BYTES;
+        this.fuelColumn = yearColumn + rowCount * Integer.BYTES;
+        this.priceColumn = fuelColumn + rowCount * Integer.BYTES;
+
+        if ((long) priceColumn + (long) rowCount * Long.BYTES > buffer.capacity()) {
+            throw new IllegalArgumentException("Price snapshot is truncated.");
+        }
+    }
+
+    public static PriceSnapshot open(Path file) {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                return new PriceSnapshot(channel);
+            } catch (RuntimeException | IOException ex) {
+                channel.close();
+                throw ex;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to open price snapshot " + file + ".", ex);
+        }
+    }
+
+    public String referenceMonth() {
+        return referenceMonth;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int brandId(int row) {
+        return buffer.getInt(brandColumn + row * Integer.BYTES);
+    }
+
+    public int modelId(int row) {
+        return buffer.getInt(modelColumn + row * Integer.BYTES);
+    }
+
+    public int modelYear(int row) {
+        return buffer.getInt(yearColumn + row * Integer.BYTES);
+    }
+
+    public int fuelId(int row) {
+        return buffer.getInt(fuelColumn + row * Integer.BYTES);
+    }
+
+    public long priceCentavos(int row) {
+        return buffer.getLong(priceColumn + row * Long.BYTES);
+    }
+
+    public int brandCount() {
+        return brandNames.length;
+    }
+
+    public int brandCode(int brandId) {
+        return brandCodes[brandId];
+    }
+
+    public String brandName(int brandId) {
+        return brandNames[brandId];
+    }
+
+    public int modelCount() {
+        return modelNames.length;
+    }
+
+    public int modelCode(int modelId) {
+        return modelCodes[modelId];
+    }
+
+    public String modelName(int modelId) {
+        return modelNames[modelId];
+    }
+
+    public int fuelCount() {
+        return fuelNames.length;
+    }
+
+    public String fuelName(int fuelId) {
+        return fuelNames[fuelId];
+    }
+
+    public int findBrandId(int brandCode) {
+        for (int i = 0; i < brandCodes.length; i++) {
+            if (brandCodes[i] == brandCode) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int findFuelId(String fuelName) {
+        for (int i = 0; i < fuelNames.length; i++) {
+            if (fuelNames[i].equalsIgnoreCase(fuelName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public void forEach(PriceRowVisitor visitor) {
+        for (int row = 0; row < rowCount; row++) {
+            visitor.visit(row, brandId(row), modelId(row), modelYear(row), fuelId(row), priceCentavos(row));
+        }
+    }
+
+    public void forEachOfBrand(int brandId, PriceRowVisitor visitor) {
+        for (int row = 0; row < rowCount; row++) {
+            if (brandId(row) == brandId) {
+                visitor.visit(row, brandId, modelId(row), modelYear(row), fuelId(row), priceCentavos(row));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
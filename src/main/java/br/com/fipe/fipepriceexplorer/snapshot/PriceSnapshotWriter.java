@@ -0,0 +1,170 @@
+package br.com.fipe.fipepriceexplorer.snapshot;
+
+import br.com.fipe.fipepriceexplorer.crawler.CatalogPriceRecord;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class PriceSnapshotWriter {
+
+    private final JsonMapper jsonMapper;
+
+    public PriceSnapshotWriter(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    /** Labels the snapshot with the reference month of its prices, or lists every month when they differ. */
+    public int writeFromCatalog(Path catalogJsonl, Path snapshotFile) {
+        return writeFromCatalog(catalogJsonl, snapshotFile, null);
+    }
+
+    public int writeFromCatalog(Path catalogJsonl, Path snapshotFile, String referenceMonth) {
+        Columns columns = new Columns();
+
+        try (BufferedReader reader = Files.newBufferedReader(catalogJsonl, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    columns.add(jsonMapper.readValue(line, CatalogPriceRecord.class));
+                } catch (RuntimeException ex) {
+                    // Torn or malformed rows are left out of the snapshot.
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read catalog file " + catalogJsonl + ".", ex);
+        }
+
+        write(columns, snapshotFile, referenceMonth == null ? columns.referenceMonthLabel() : referenceMonth);
+        return columns.rows;
+    }
+
+    private void write(Columns columns, Path snapshotFile, String referenceMonth) {
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.write(PriceSnapshot.MAGIC);
+                out.writeInt(PriceSnapshot.VERSION);
+                writeString(out, referenceMonth == null ? "" : referenceMonth);
+                out.writeInt(columns.rows);
+
+                writeCodedDictionary(out, columns.brands);
+                writeCodedDictionary(out, columns.models);
+
+                out.writeInt(columns.fuels.size());
+                for (String fuel : columns.fuels.keySet()) {
+                    writeString(out, fuel);
+                }
+
+                writeColumn(out, columns.brandIds, columns.rows);
+                writeColumn(out, columns.modelIds, columns.rows);
+                writeColumn(out, columns.years, columns.rows);
+                writeColumn(out, columns.fuelIds, columns.rows);
+                for (int i = 0; i < columns.rows; i++) {
+                    out.writeLong(columns.prices[i]);
+                }
+            }
+
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to write price snapshot " + snapshotFile + ".", ex);
+        }
+    }
+
+    private static void writeCodedDictionary(DataOutputStream out, Map<Integer, String> dictionary)
+            throws IOException {
+        out.writeInt(dictionary.size());
+        for (Map.Entry<Integer, String> entry : dictionary.entrySet()) {
+            out.writeInt(entry.getKey());
+            writeString(out, entry.getValue());
+        }
+    }
+
+    private static void writeColumn(DataOutputStream out, int[] column, int rows) throws IOException {
+        for (int i = 0; i < rows; i++) {
+            out.writeInt(column[i]);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static final class Columns {
+        private final Map<Integer, String> brands = new LinkedHashMap<>();
+        private final Map<Integer, Integer> brandIdsByCode = new LinkedHashMap<>();
+        private final Map<Integer, String> models = new LinkedHashMap<>();
+        private final Map<Integer, Integer> modelIdsByCode = new LinkedHashMap<>();
+        private final Map<String, Integer> fuels = new LinkedHashMap<>();
+        private final Set<String> referenceMonths = new LinkedHashSet<>();
+
+        private int rows;
+        private int[] brandIds = new int[1024];
+        private int[] modelIds = new int[1024];
+        private int[] years = new int[1024];
+        private int[] fuelIds = new int[1024];
+        private long[] prices = new long[1024];
+
+        void add(CatalogPriceRecord record) {
+            int brandCode = Integer.parseInt(record.brandCode());
+            int modelCode = Integer.parseInt(record.modelCode());
+
+            if (rows == prices.length) {
+                int capacity = rows * 2;
+                brandIds = Arrays.copyOf(brandIds, capacity);
+                modelIds = Arrays.copyOf(modelIds, capacity);
+                years = Arrays.copyOf(years, capacity);
+                fuelIds = Arrays.copyOf(fuelIds, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+            }
+
+            brandIds[rows] = brandIdsByCode.computeIfAbsent(brandCode, code -> {
+                brands.put(code, record.brandName());
+                return brands.size() - 1;
+            });
+            modelIds[rows] = modelIdsByCode.computeIfAbsent(modelCode, code -> {
+                models.put(code, record.modelName());
+                return models.size() - 1;
+            });
+            years[rows] = record.modelYear() == null ? 0 : record.modelYear();
+            fuelIds[rows] = fuels.computeIfAbsent(record.fuel() == null ? "" : record.fuel(), f -> fuels.size());
+            prices[rows] = record.priceCentavos();
+            if (record.referenceMonth() != null && !record.referenceMonth().isBlank()) {
+                referenceMonths.add(record.referenceMonth().trim());
+            }
+            rows++;
+        }
+
+        String referenceMonthLabel() {
+            if (referenceMonths.size() <= 1) {
+                return referenceMonths.isEmpty() ? "" : referenceMonths.iterator().next();
+            }
+            return "mixed: " + String.join(", ", referenceMonths);
+        }
+    }
+}
@@ -1,46 +1,140 @@
 package br.com.fipe.fipepriceexplorer.util;
 
 import br.com.fipe.fipepriceexplorer.dto.FipePriceDTO;
+import reactor.core.publisher.Flux;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.util.List;
 
 public class ConsoleTablePrinter {
 
+    private static final String[] HEADERS = {"BRAND", "MODEL", "YEAR", "FUEL", "PRICE"};
+    private static final int[] STREAMING_WIDTHS = {16, 44, 5, 10, 16};
+
     public static void printPriceTable(List<FipePriceDTO> prices) {
 
-        int wBrand = Math.max(
-                "BRAND".length(),
-                prices.stream().mapToInt(p -> p.getBrand().length()).max().orElse(0));
-        int wModel = Math.max(
-                "MODEL".length(),
-                prices.stream().mapToInt(p -> p.getModel().length()).max().orElse(0));
-        int wYear = Math.max(
-                "YEAR".length(),
-                prices.stream()
-                        .mapToInt(p -> String.valueOf(p.getModelYear()).length())
-                        .max()
-                        .orElse(0));
-        int wFuel = Math.max(
-                "FUEL".length(),
-                prices.stream().mapToInt(p -> p.getFuel().length()).max().orElse(0));
-        int wPrice = Math.max(
-                "PRICE".length(),
-                prices.stream().mapToInt(p -> p.getPrice().length()).max().orElse(0));
-
-        String rowFormat =
-                "| %-" + wBrand + "s | %-" + wModel + "s | %-" + wYear + "s | %-" + wFuel + "s | %-" + wPrice + "s |%n";
-
-        String lineSeparator = "─".repeat(wBrand + wModel + wYear + wFuel + wPrice + 16);
-
-        System.out.println("\n📊 FIPE PRICE HISTORY");
-
-        System.out.println(lineSeparator);
-        System.out.printf(rowFormat, "BRAND", "MODEL", "YEAR", "FUEL", "PRICE");
-        System.out.println(lineSeparator);
-
-        prices.forEach(p -> System.out.printf(
-                        rowFormat, p.getBrand(), p.getModel(), p.getModelYear(), p.getFuel(), p.getPrice()));
-
-        System.out.println(lineSeparator);
+        int[] widths = headerWidths();
+        String[][] rows = new String[prices.size()][];
+
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = cells(prices.get(i));
+            for (int c = 0; c < widths.length; c++) {
+                widths[c] = Math.max(widths[c], rows[i][c].length());
+            }
+        }
+
+        PriceTableStream table = new PriceTableStream(consoleWriter(), widths, false);
+        for (String[] row : rows) {
+            table.printRow(row);
+        }
+        table.close();
+    }
+
+    public static int printPriceTable(Flux<FipePriceDTO> prices) {
+        try (PriceTableStream table = openPriceTable()) {
+            prices.toIterable().forEach(table::print);
+            return table.rows();
+        }
+    }
+
+    public static PriceTableStream openPriceTable() {
+        return new PriceTableStream(consoleWriter(), STREAMING_WIDTHS.clone(), true);
+    }
+
+    private static PrintWriter consoleWriter() {
+        return new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, System.out.charset())), false);
+    }
+
+    private static int[] headerWidths() {
+        int[] widths = new int[HEADERS.length];
+        for (int c = 0; c < HEADERS.length; c++) {
+            widths[c] = HEADERS[c].length();
+        }
+        return widths;
+    }
+
+    private static String[] cells(FipePriceDTO p) {
+        return new String[] {
+            p.getBrand(),
+            p.getModel(),
+            String.valueOf(p.getModelYear()),
+            p.getFuel(),
+            FipePriceFormat.format(p.getPriceCentavos())
+        };
+    }
+
+    public static final class PriceTableStream implements AutoCloseable {
+
+        private final PrintWriter out;
+        private final int[] widths;
+        private final boolean flushEachRow;
+        private final StringBuilder line = new StringBuilder(128);
+        private final String separator;
+        private int rows;
+
+        private PriceTableStream(PrintWriter out, int[] widths, boolean flushEachRow) {
+            this.out = out;
+            this.widths = widths;
+            this.flushEachRow = flushEachRow;
+
+            int total = 16;
+            for (int width : widths) {
+                total += width;
+            }
+            this.separator = "─".repeat(total);
+        }
+
+        public void print(FipePriceDTO price) {
+            printRow(cells(price));
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        private void printRow(String[] cells) {
+            if (rows == 0) {
+                out.println("\n📊 FIPE PRICE HISTORY");
+                out.println(separator);
+                writeLine(HEADERS);
+                out.println(separator);
+            }
+
+            writeLine(cells);
+            rows++;
+
+            if (flushEachRow) {
+                out.flush();
+            }
+        }
+
+        private void writeLine(String[] cells) {
+            line.setLength(0);
+            line.append('|');
+            for (int c = 0; c < widths.length; c++) {
+                String value = cells[c] == null ? "" : cells[c];
+                line.append(' ');
+                if (value.length() > widths[c]) {
+                    line.append(value, 0, widths[c] - 1).append('…');
+                } else {
+                    line.append(value);
+                    for (int pad = value.length(); pad < widths[c]; pad++) {
+                        line.append(' ');
+                    }
+                }
+                line.append(" |");
+            }
+            out.println(line);
+        }
+
+        @Override
+        public void close() {
+            if (rows > 0) {
+                out.println(separator);
+            }
+            out.flush();
+        }
     }
 }
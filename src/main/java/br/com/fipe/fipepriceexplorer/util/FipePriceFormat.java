@@ -0,0 +1,78 @@
+package br.com.fipe.fipepriceexplorer.util;
+
+import java.nio.CharBuffer;
+
+public final class FipePriceFormat {
+
+    private FipePriceFormat() {}
+
+    public static long parseCentavos(CharSequence price) {
+        if (price == null) {
+            throw new IllegalArgumentException("Price cannot be null.");
+        }
+        return parseCentavos(price, 0, price.length());
+    }
+
+    public static long parseCentavos(char[] chars, int offset, int length) {
+        return parseCentavos(CharBuffer.wrap(chars), offset, offset + length);
+    }
+
+    private static long parseCentavos(CharSequence price, int start, int end) {
+        long value = 0;
+        int digits = 0;
+        int decimals = -1;
+
+        for (int i = start; i < end; i++) {
+            char c = price.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (decimals == 2) {
+                    continue;
+                }
+                if (decimals >= 0) {
+                    decimals++;
+                }
+                value = value * 10 + (c - '0');
+                digits++;
+            } else if (c == ',') {
+                decimals = 0;
+            }
+        }
+
+        if (digits == 0) {
+            throw new IllegalArgumentException("Invalid FIPE price: '" + price.subSequence(start, end) + "'.");
+        }
+        return toCentavos(value, decimals);
+    }
+
+    private static long toCentavos(long value, int decimals) {
+        if (decimals <= 0) {
+            return value * 100;
+        }
+        return decimals == 1 ? value * 10 : value;
+    }
+
+    public static String format(long centavos) {
+        StringBuilder sb = new StringBuilder(20);
+        appendTo(sb, centavos);
+        return sb.toString();
+    }
+
+    public static void appendTo(StringBuilder sb, long centavos) {
+        if (centavos < 0) {
+            sb.append('-');
+            centavos = -centavos;
+        }
+
+        sb.append("R$ ");
+
+        String reais = Long.toString(centavos / 100);
+        int firstGroup = reais.length() % 3 == 0 ? 3 : reais.length() % 3;
+        sb.append(reais, 0, firstGroup);
+        for (int i = firstGroup; i < reais.length(); i += 3) {
+            sb.append('.').append(reais, i, i + 3);
+        }
+
+        long cents = centavos % 100;
+        sb.append(',').append((char) ('0' + cents / 10)).append((char) ('0' + cents % 10));
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.fipe.fipepriceexplorer.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/** Direct-mapped interner comparing raw UTF-8 bytes; a colliding value replaces the previous entry. */
+public final class StringInterner {
+
+    private final AtomicReferenceArray<Entry> table;
+    private final int mask;
+
+    public StringInterner(int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, capacity - 1) << 1);
+        this.table = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public String intern(byte[] utf8, int offset, int length) {
+        int hash = hash(utf8, offset, length);
+        int slot = hash & mask;
+
+        Entry entry = table.get(slot);
+        if (entry != null && entry.hash == hash
+                && Arrays.equals(entry.utf8, 0, entry.utf8.length, utf8, offset, offset + length)) {
+            return entry.value;
+        }
+
+        String value = new String(utf8, offset, length, StandardCharsets.UTF_8);
+        table.set(slot, new Entry(hash, Arrays.copyOfRange(utf8, offset, offset + length), value));
+        return value;
+    }
+
+    private static int hash(byte[] utf8, int offset, int length) {
+        int h = 1;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            h = 31 * h + utf8[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private record Entry(int hash, byte[] utf8, String value) {}
+}
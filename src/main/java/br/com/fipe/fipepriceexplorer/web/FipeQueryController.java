@@ -0,0 +1,151 @@
+package br.com.fipe.fipepriceexplorer.web;
+
+import br.com.fipe.fipepriceexplorer.client.FipeClientErrorException;
+import br.com.fipe.fipepriceexplorer.client.FipeRateLimitedException;
+import br.com.fipe.fipepriceexplorer.service.FipeService;
+import br.com.fipe.fipepriceexplorer.service.YearPriceResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+@RestController
+@ConditionalOnProperty(name = "fipe.mode", havingValue = "server")
+@RequestMapping("/api/cars")
+public class FipeQueryController {
+
+    private final FipeService fipeService;
+    private final JsonMapper jsonMapper;
+    private final CacheControl cacheControl;
+
+    public FipeQueryController(
+            FipeService fipeService,
+            JsonMapper jsonMapper,
+            @Value("${fipe.server.cache-max-age:1h}") Duration cacheMaxAge) {
+        this.fipeService = fipeService;
+        this.jsonMapper = jsonMapper;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge).cachePublic();
+    }
+
+    @GetMapping("/brands")
+    public Mono<ResponseEntity<byte[]>> brands(ServerWebExchange exchange) {
+        return respond(exchange, fipeService.fetchCarBrands().collectList());
+    }
+
+    @GetMapping("/brands/{brandCode}/models")
+    public Mono<ResponseEntity<byte[]>> models(@PathVariable String brandCode, ServerWebExchange exchange) {
+        return respond(exchange, fipeService.fetchModelsByBrand(brandCode).collectList());
+    }
+
+    @GetMapping("/brands/{brandCode}/years/{year}/models")
+    public Mono<ResponseEntity<byte[]>> modelsByYear(
+            @PathVariable String brandCode, @PathVariable String year, ServerWebExchange exchange) {
+        return respond(exchange, fipeService.fetchModelsByBrandAndYear(brandCode, year).collectList());
+    }
+
+    @GetMapping("/brands/{brandCode}/models/{modelCode}/years")
+    public Mono<ResponseEntity<byte[]>> years(
+            @PathVariable String brandCode, @PathVariable String modelCode, ServerWebExchange exchange) {
+        return respond(exchange, fipeService.fetchYearsByModel(brandCode, modelCode).collectList());
+    }
+
+    @GetMapping("/brands/{brandCode}/models/{modelCode}/prices")
+    public Mono<ResponseEntity<byte[]>> prices(
+            @PathVariable String brandCode,
+            @PathVariable String modelCode,
+            @RequestParam Optional<String> year,
+            ServerWebExchange exchange) {
+        // A list with failed years is a partial answer; caching it would pin the failure for max-age.
+        return respond(
+                exchange,
+                fipeService.fetchPriceResultsForAllYears(brandCode, modelCode, year).collectList(),
+                results -> results.stream().allMatch(YearPriceResult::isSuccess));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(FipeClientErrorException.class)
+    public ResponseEntity<Map<String, String>> rejectedByFipe(FipeClientErrorException ex) {
+        HttpStatus status = ex.getStatusCode().value() == HttpStatus.NOT_FOUND.value()
+                ? HttpStatus.NOT_FOUND
+                : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(FipeRateLimitedException.class)
+    public ResponseEntity<Map<String, String>> throttledByFipe(FipeRateLimitedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<Map<String, String>> upstreamFailure(RuntimeException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .body(Map.of("error", ex.getMessage() == null ? "FIPE lookup failed." : ex.getMessage()));
+    }
+
+    private Mono<ResponseEntity<byte[]>> respond(ServerWebExchange exchange, Mono<?> body) {
+        return respond(exchange, body, value -> true);
+    }
+
+    private <T> Mono<ResponseEntity<byte[]>> respond(
+            ServerWebExchange exchange, Mono<T> body, Predicate<? super T> cacheable) {
+        return body.map(value -> {
+            byte[] json = jsonMapper.writeValueAsBytes(value);
+            if (!cacheable.test(value)) {
+                return ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .cacheControl(CacheControl.noStore())
+                        .body(json);
+            }
+
+            String etag = etag(json);
+
+            if (exchange.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(cacheControl)
+                        .<byte[]>build();
+            }
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .body(json);
+        });
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available.", ex);
+        }
+    }
+}
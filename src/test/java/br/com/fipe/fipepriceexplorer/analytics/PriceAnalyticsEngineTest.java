@@ -0,0 +1,123 @@
+package br.com.fipe.fipepriceexplorer.analytics;
+
+import br.com.fipe.fipepriceexplorer.crawler.CatalogPriceRecord;
+import br.com.fipe.fipepriceexplorer.snapshot.PriceSnapshot;
+import br.com.fipe.fipepriceexplorer.snapshot.PriceSnapshotWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PriceAnalyticsEngineTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private int nextModel;
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void reportsNearestRankPercentilesPerGroup() throws IOException {
+        List<CatalogPriceRecord> records = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            records.add(record("59", "VW - VolksWagen", 2013 + i, "Gasolina", i * 100_000L));
+        }
+        Collections.shuffle(records, new Random(7));
+        records.add(record("21", "Fiat", 2020, "Diesel", 5_000_000L));
+        records.add(record("21", "Fiat", 2020, "Diesel", 3_000_000L));
+
+        List<GroupStats> groups = engine(records).summarize(GroupBy.BRAND, RowFilter.ALL, 1);
+
+        assertThat(groups).containsExactlyInAnyOrder(
+                new GroupStats("VW - VolksWagen", 10,
+                        100_000L, 100_000L, 300_000L, 500_000L, 800_000L, 900_000L, 1_000_000L, 550_000L),
+                new GroupStats("Fiat", 2,
+                        3_000_000L, 3_000_000L, 3_000_000L, 3_000_000L, 5_000_000L, 5_000_000L, 5_000_000L,
+                        4_000_000L));
+    }
+
+    @Test
+    void mergesTheSplitsOfALargeScan() throws IOException {
+        List<CatalogPriceRecord> records = new ArrayList<>();
+        for (int i = 1; i <= 20_000; i++) {
+            records.add(record("59", "VW - VolksWagen", 2000 + i % 20, "Gasolina", i));
+        }
+        Collections.shuffle(records, new Random(11));
+
+        List<GroupStats> all = engine(records).summarize(GroupBy.ALL, RowFilter.ALL, 1);
+
+        assertThat(all).containsExactly(new GroupStats("All vehicles", 20_000,
+                1, 2_000, 5_000, 10_000, 15_000, 18_000, 20_000, 10_000));
+    }
+
+    @Test
+    void filtersRowsBeforeGrouping() throws IOException {
+        PriceAnalyticsEngine engine = engine(List.of(
+                record("59", "VW - VolksWagen", 2014, "Gasolina", 3_000_000L),
+                record("59", "VW - VolksWagen", 2018, "Gasolina", 5_000_000L),
+                record("59", "VW - VolksWagen", 2022, "Diesel", 9_000_000L),
+                record("21", "Fiat", 2018, "Gasolina", 4_000_000L)));
+        PriceColumns columns = engine.columns();
+        RowFilter vwGasolineFrom2015 = new RowFilter(
+                columns.findBrandId("vw - volkswagen"), columns.findFuelId("Gasolina"), 2015, -1);
+
+        assertThat(engine.summarize(GroupBy.YEAR, vwGasolineFrom2015, 1))
+                .extracting(GroupStats::label, GroupStats::count, GroupStats::median)
+                .containsExactly(tuple("2018", 1, 5_000_000L));
+    }
+
+    @Test
+    void ranksTheCheapestVehiclesOfEachGroup() throws IOException {
+        PriceAnalyticsEngine engine = engine(List.of(
+                record("59", "VW - VolksWagen", 2014, "Gasolina", 3_000_000L),
+                record("59", "VW - VolksWagen", 2018, "Gasolina", 5_000_000L),
+                record("59", "VW - VolksWagen", 2015, "Gasolina", 2_000_000L),
+                record("21", "Fiat", 2018, "Gasolina", 4_000_000L)));
+
+        assertThat(engine.topN(GroupBy.BRAND, RowFilter.ALL, 1, 2, true))
+                .extracting(RankedVehicle::group, RankedVehicle::rank, RankedVehicle::priceCentavos)
+                .containsExactlyInAnyOrder(
+                        tuple("VW - VolksWagen", 1, 2_000_000L),
+                        tuple("VW - VolksWagen", 2, 3_000_000L),
+                        tuple("Fiat", 1, 4_000_000L));
+    }
+
+    private PriceAnalyticsEngine engine(List<CatalogPriceRecord> records) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (CatalogPriceRecord record : records) {
+            lines.append(jsonMapper.writeValueAsString(record)).append('\n');
+        }
+        Path catalog = Files.writeString(dir.resolve("catalog.jsonl"), lines);
+        Path file = dir.resolve("prices.snapshot");
+        new PriceSnapshotWriter(jsonMapper).writeFromCatalog(catalog, file);
+
+        try (PriceSnapshot snapshot = PriceSnapshot.open(file)) {
+            return new PriceAnalyticsEngine(PriceColumns.load(snapshot, pool), pool);
+        }
+    }
+
+    private CatalogPriceRecord record(String brandCode, String brandName, int modelYear, String fuel,
+            long priceCentavos) {
+        String modelCode = Integer.toString(++nextModel);
+        return new CatalogPriceRecord(brandCode, brandName, modelCode, "Model " + modelCode, modelYear + "-1",
+                modelYear + " " + fuel, modelYear, fuel, priceCentavos, "outubro de 2026");
+    }
+}
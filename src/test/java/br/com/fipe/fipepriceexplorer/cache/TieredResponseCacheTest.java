@@ -0,0 +1,113 @@
+package br.com.fipe.fipepriceexplorer.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TieredResponseCacheTest {
+
+    // Each entry below serializes to 14 bytes (["aaaaaaaaaa"]), so a 30 byte budget holds two of them.
+    private static final DataSize TWO_ENTRIES = DataSize.ofBytes(30);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesRepeatedLookupsFromMemory() {
+        TieredResponseCache cache = cache(Duration.ofHours(1), DataSize.ofMegabytes(1), "");
+
+        assertThat(get(cache, "a")).containsExactly("aaaaaaaaaa");
+        assertThat(get(cache, "a")).containsExactly("aaaaaaaaaa");
+
+        assertThat(loads).hasValue(1);
+        CacheStats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.entries()).isEqualTo(1);
+        assertThat(stats.bytes()).isEqualTo(14);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntryOverTheByteBudget() {
+        TieredResponseCache cache = cache(Duration.ofHours(1), TWO_ENTRIES, "");
+
+        get(cache, "a");
+        get(cache, "b");
+        get(cache, "a");
+        get(cache, "c");
+
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.stats().entries()).isEqualTo(2);
+
+        loads.set(0);
+        get(cache, "a");
+        get(cache, "c");
+        assertThat(loads).as("a and c stay resident").hasValue(0);
+        get(cache, "b");
+        assertThat(loads).as("b was the least recently used").hasValue(1);
+    }
+
+    @Test
+    void countsTtlExpiryAsExpirationRatherThanEviction() {
+        TieredResponseCache cache = cache(Duration.ZERO, DataSize.ofMegabytes(1), "");
+
+        get(cache, "a");
+        get(cache, "a");
+
+        assertThat(loads).hasValue(2);
+        CacheStats stats = cache.stats();
+        assertThat(stats.hits()).isZero();
+        assertThat(stats.misses()).isEqualTo(2);
+        assertThat(stats.expirations()).isEqualTo(1);
+        assertThat(stats.evictions()).isZero();
+    }
+
+    @Test
+    void servesTheDiskTierToAFreshInstance(@TempDir Path dir) {
+        get(cache(Duration.ofHours(1), DataSize.ofMegabytes(1), dir.toString()), "a");
+
+        TieredResponseCache restarted = cache(Duration.ofHours(1), DataSize.ofMegabytes(1), dir.toString());
+        assertThat(get(restarted, "a")).containsExactly("aaaaaaaaaa");
+        assertThat(get(restarted, "a")).containsExactly("aaaaaaaaaa");
+
+        assertThat(loads).hasValue(1);
+        assertThat(restarted.stats().diskHits()).isEqualTo(1);
+        assertThat(restarted.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void removesTheTempFileWhenTheDiskWriteFails(@TempDir Path dir) throws IOException {
+        // A non-empty directory where the entry file belongs makes the final move fail.
+        Files.createDirectories(dir.resolve("a.json"));
+        Files.writeString(dir.resolve("a.json").resolve("blocker"), "x");
+
+        TieredResponseCache cache = cache(Duration.ofHours(1), DataSize.ofMegabytes(1), dir.toString());
+        assertThat(get(cache, "a")).containsExactly("aaaaaaaaaa");
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files).extracting(path -> path.getFileName().toString()).containsExactly("a.json");
+        }
+    }
+
+    private List<String> get(TieredResponseCache cache, String key) {
+        return cache.cachedFlux(key, String.class, () -> {
+            loads.incrementAndGet();
+            return Flux.just(key.repeat(10));
+        }).collectList().block();
+    }
+
+    private static TieredResponseCache cache(Duration ttl, DataSize maxSize, String diskDir) {
+        return new TieredResponseCache(JsonMapper.builder().build(), true, ttl, maxSize, diskDir);
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.fipe.fipepriceexplorer.client;
+
+import br.com.fipe.fipepriceexplorer.dto.FipeBrandDTO;
+import br.com.fipe.fipepriceexplorer.util.StringInterner;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CodeNameJsonDecoderTest {
+
+    private static final String BRANDS = """
+            [{"code":"1","name":"Acura"},{"code":"2","name":"Agrale"},
+             {"code":"59","name":"VW - VolksWagen","extra":{"nested":["}",{"a":1}]},"count":3}]
+            """;
+
+    @Test
+    void decodesObjectsInOneBuffer() {
+        List<FipeBrandDTO> brands = decode(BRANDS, BRANDS.length());
+
+        assertThat(brands).extracting(FipeBrandDTO::getCode).containsExactly("1", "2", "59");
+        assertThat(brands).extracting(FipeBrandDTO::getName).containsExactly("Acura", "Agrale", "VW - VolksWagen");
+    }
+
+    @Test
+    void decodesObjectsSplitAcrossBuffersAtEveryOffset() {
+        for (int chunkSize = 1; chunkSize < BRANDS.length(); chunkSize++) {
+            List<FipeBrandDTO> brands = decode(BRANDS, chunkSize);
+
+            assertThat(brands).as("chunk size %d", chunkSize)
+                    .extracting(FipeBrandDTO::getName)
+                    .containsExactly("Acura", "Agrale", "VW - VolksWagen");
+        }
+    }
+
+    @Test
+    void emitsEachElementFromTheBufferThatClosesIt() {
+        CodeNameJsonDecoder<FipeBrandDTO> decoder = new CodeNameJsonDecoder<>(FipeBrandDTO::new, null);
+
+        assertThat(decoder.decodeAndRelease(buffer("[{\"code\":\"1\",\"na"))).isEmpty();
+        assertThat(decoder.decodeAndRelease(buffer("me\":\"Acura\"},{\"code\"")))
+                .extracting(FipeBrandDTO::getName)
+                .containsExactly("Acura");
+        assertThat(decoder.decodeAndRelease(buffer(":\"2\",\"name\":\"Agrale\"}]")))
+                .extracting(FipeBrandDTO::getName)
+                .containsExactly("Agrale");
+        decoder.finish();
+    }
+
+    @Test
+    void decodesUnicodeAndCharacterEscapes() {
+        String json = "[{\"code\":\"7\",\"name\":\"Citro\\u00ebn \\\"C4\\\" \\u00c9lys\\u00e9e\\n\"}]";
+
+        for (int chunkSize = 1; chunkSize <= json.length(); chunkSize++) {
+            List<FipeBrandDTO> brands = decode(json, chunkSize);
+
+            assertThat(brands).as("chunk size %d", chunkSize)
+                    .extracting(FipeBrandDTO::getName)
+                    .containsExactly("Citroën \"C4\" Élysée\n");
+        }
+    }
+
+    @Test
+    void keepsMultiByteCharactersSplitAcrossBuffers() {
+        String json = "[{\"code\":\"3\",\"name\":\"Citroën Aircross Automático\"}]";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        for (int chunkSize = 1; chunkSize < bytes.length; chunkSize++) {
+            List<FipeBrandDTO> brands = decode(bytes, chunkSize, new StringInterner(256));
+
+            assertThat(brands).as("chunk size %d", chunkSize)
+                    .extracting(FipeBrandDTO::getName)
+                    .containsExactly("Citroën Aircross Automático");
+        }
+    }
+
+    @Test
+    void rejectsTruncatedBody() {
+        String truncated = BRANDS.substring(0, BRANDS.indexOf("Agrale"));
+
+        assertThatThrownBy(() -> decode(truncated, 8))
+                .isInstanceOf(DecodingException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    @Test
+    void rejectsEmptyBody() {
+        assertThatThrownBy(() -> decode("", 1)).isInstanceOf(DecodingException.class);
+    }
+
+    @Test
+    void rejectsBodyThatIsNotAnArray() {
+        assertThatThrownBy(() -> decode("{\"code\":\"1\"}", 4))
+                .isInstanceOf(DecodingException.class)
+                .hasMessageContaining("Unexpected character");
+    }
+
+    private static List<FipeBrandDTO> decode(String json, int chunkSize) {
+        return decode(json.getBytes(StandardCharsets.UTF_8), chunkSize, null);
+    }
+
+    private static List<FipeBrandDTO> decode(byte[] json, int chunkSize, StringInterner interner) {
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < json.length; offset += chunkSize) {
+            int length = Math.min(chunkSize, json.length - offset);
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(json, offset, offset + length)));
+        }
+        return CodeNameJsonDecoder.decode(Flux.fromIterable(buffers), FipeBrandDTO::new, interner)
+                .collectList()
+                .block();
+    }
+
+    private static DataBuffer buffer(String json) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
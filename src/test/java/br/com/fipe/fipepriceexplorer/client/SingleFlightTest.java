@@ -0,0 +1,130 @@
+package br.com.fipe.fipepriceexplorer.client;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void coalescesConcurrentCallsForTheSameKey() {
+        Sinks.One<String> response = Sinks.one();
+        AtomicReference<String> first = new AtomicReference<>();
+        AtomicReference<String> second = new AtomicReference<>();
+
+        call("price:1", response.asMono()).subscribe(first::set);
+        call("price:1", response.asMono()).subscribe(second::set);
+
+        assertThat(calls).hasValue(1);
+        assertThat(singleFlight.coalescedCalls()).isEqualTo(1);
+        assertThat(singleFlight.inFlightCalls()).isEqualTo(1);
+
+        response.tryEmitValue("R$ 35.123,00");
+
+        assertThat(first).hasValue("R$ 35.123,00");
+        assertThat(second).hasValue("R$ 35.123,00");
+        assertThat(singleFlight.inFlightCalls()).isZero();
+    }
+
+    @Test
+    void runsAgainOnceTheFlightHasLanded() {
+        call("price:1", Mono.just("a")).block();
+        call("price:1", Mono.just("b")).block();
+
+        assertThat(calls).hasValue(2);
+        assertThat(singleFlight.coalescedCalls()).isZero();
+    }
+
+    @Test
+    void keepsDifferentKeysApart() {
+        Sinks.One<String> response = Sinks.one();
+
+        call("price:1", response.asMono()).subscribe();
+        call("price:2", response.asMono()).subscribe();
+
+        assertThat(calls).hasValue(2);
+        assertThat(singleFlight.inFlightCalls()).isEqualTo(2);
+        response.tryEmitValue("done");
+        assertThat(singleFlight.inFlightCalls()).isZero();
+    }
+
+    @Test
+    void sharesAFailureWithEveryCallerAndForgetsIt() {
+        Sinks.One<String> response = Sinks.one();
+        List<Throwable> errors = new ArrayList<>();
+
+        call("price:1", response.asMono()).subscribe(value -> {}, errors::add);
+        call("price:1", response.asMono()).subscribe(value -> {}, errors::add);
+        response.tryEmitError(new IllegalStateException("HTTP 503"));
+
+        assertThat(errors).hasSize(2).allSatisfy(ex -> assertThat(ex).hasMessage("HTTP 503"));
+        assertThat(singleFlight.inFlightCalls()).isZero();
+
+        assertThat(call("price:1", Mono.just("recovered")).block()).isEqualTo("recovered");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void coalescesListCalls() {
+        Sinks.Many<String> response = Sinks.many().replay().all();
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+
+        callMany("models:59", response).subscribe(first::add);
+        callMany("models:59", response).subscribe(second::add);
+        response.tryEmitNext("Gol");
+        response.tryEmitNext("Polo");
+        response.tryEmitComplete();
+
+        assertThat(calls).hasValue(1);
+        assertThat(singleFlight.coalescedCalls()).isEqualTo(1);
+        assertThat(first).containsExactly("Gol", "Polo");
+        assertThat(second).containsExactly("Gol", "Polo");
+        assertThat(singleFlight.inFlightCalls()).isZero();
+    }
+
+    @Test
+    void passesListElementsThroughBeforeTheListCompletes() {
+        Sinks.Many<String> response = Sinks.many().replay().all();
+        List<String> first = new ArrayList<>();
+        List<String> joiner = new ArrayList<>();
+
+        callMany("models:59", response).subscribe(first::add);
+        response.tryEmitNext("Gol");
+        assertThat(first).containsExactly("Gol");
+
+        callMany("models:59", response).subscribe(joiner::add);
+        assertThat(joiner).as("elements already decoded are replayed").containsExactly("Gol");
+
+        response.tryEmitNext("Polo");
+        response.tryEmitComplete();
+        assertThat(first).containsExactly("Gol", "Polo");
+        assertThat(joiner).containsExactly("Gol", "Polo");
+        assertThat(calls).hasValue(1);
+    }
+
+    private Mono<String> call(String key, Mono<String> response) {
+        return singleFlight.execute(key, () -> {
+            calls.incrementAndGet();
+            return response;
+        });
+    }
+
+    private Flux<String> callMany(String key, Sinks.Many<String> response) {
+        return singleFlight.executeMany(key, () -> {
+            calls.incrementAndGet();
+            return response.asFlux();
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.fipe.fipepriceexplorer.crawler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CrawlCheckpointTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void resumesSavedPricesAndCompletedModels() throws IOException {
+        Path output = dir.resolve("catalog.jsonl");
+        try (CrawlCheckpoint checkpoint = CrawlCheckpoint.open(jsonMapper, output)) {
+            checkpoint.savePrice(record("59", "5940", "2014-1"));
+            checkpoint.savePrice(record("59", "5940", "2015-1"));
+            checkpoint.savePrice(record("59", "5940", "2014-1"));
+            checkpoint.markModelDone("59", "5940");
+        }
+
+        try (CrawlCheckpoint resumed = CrawlCheckpoint.open(jsonMapper, output)) {
+            assertThat(resumed.resumedPrices()).isEqualTo(2);
+            assertThat(resumed.isPriceDone("59", "5940", "2015-1")).isTrue();
+            assertThat(resumed.isPriceDone("59", "5940", "2016-1")).isFalse();
+            assertThat(resumed.isModelDone("59", "5940")).isTrue();
+            assertThat(resumed.isModelDone("59", "5941")).isFalse();
+        }
+        assertThat(Files.readAllLines(output)).hasSize(2);
+    }
+
+    @Test
+    void dropsATornLastLineAndAppendsOnAFreshLine() throws IOException {
+        Path output = dir.resolve("catalog.jsonl");
+        try (CrawlCheckpoint checkpoint = CrawlCheckpoint.open(jsonMapper, output)) {
+            checkpoint.savePrice(record("59", "5940", "2014-1"));
+        }
+        // An interrupted run leaves half a record without its newline.
+        String torn = jsonMapper.writeValueAsString(record("59", "5940", "2015-1"));
+        Files.writeString(output, torn.substring(0, torn.length() / 2), StandardOpenOption.APPEND);
+
+        try (CrawlCheckpoint resumed = CrawlCheckpoint.open(jsonMapper, output)) {
+            assertThat(resumed.resumedPrices()).isEqualTo(1);
+            assertThat(resumed.isPriceDone("59", "5940", "2015-1")).isFalse();
+            resumed.savePrice(record("59", "5940", "2015-1"));
+        }
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(2)).isEqualTo(torn);
+        try (CrawlCheckpoint again = CrawlCheckpoint.open(jsonMapper, output)) {
+            assertThat(again.resumedPrices()).isEqualTo(2);
+        }
+    }
+
+    private static CatalogPriceRecord record(String brandCode, String modelCode, String yearCode) {
+        return new CatalogPriceRecord(brandCode, "VW - VolksWagen", modelCode, "Gol 1.0", yearCode, "2014 Gasolina",
+                2014, "Gasolina", 3_512_300L, "outubro de 2026");
+    }
+}
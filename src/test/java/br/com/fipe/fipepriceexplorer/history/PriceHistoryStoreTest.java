@@ -0,0 +1,147 @@
+package br.com.fipe.fipepriceexplorer.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceHistoryStoreTest {
+
+    private static final SeriesKey GOL = new SeriesKey("59", "5940", "2014-1");
+    private static final SeriesKey AMAROK = new SeriesKey("59", "5941", "2020-3");
+    private static final SeriesKey UNO = new SeriesKey("21", "4828", "2010-1");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysAppendedPointsOnReopen() throws IOException {
+        Path file = dir.resolve("history.bin");
+        try (PriceHistoryStore store = PriceHistoryStore.open(file)) {
+            store.putReferenceMonth(320, "agosto de 2026");
+            store.putReferenceMonth(321, "setembro de 2026");
+            // Months out of order, a rising price and a large negative delta.
+            store.append(GOL, 321, 3_400_000L);
+            store.append(GOL, 320, 3_512_300L);
+            store.append(AMAROK, 320, 17_890_050L);
+            store.append(GOL, 322, 3_600_000L);
+            store.append(AMAROK, 322, 5L);
+        }
+
+        try (PriceHistoryStore store = PriceHistoryStore.open(file)) {
+            assertThat(store.seriesCount()).isEqualTo(2);
+            assertThat(store.trajectory(GOL, 0, Integer.MAX_VALUE)).containsExactly(
+                    new PricePoint(320, "agosto de 2026", 3_512_300L),
+                    new PricePoint(321, "setembro de 2026", 3_400_000L),
+                    new PricePoint(322, "322", 3_600_000L));
+            assertThat(store.trajectory(AMAROK, 0, Integer.MAX_VALUE))
+                    .extracting(PricePoint::priceCentavos)
+                    .containsExactly(17_890_050L, 5L);
+            assertThat(store.contains(GOL, 321)).isTrue();
+            assertThat(store.contains(AMAROK, 321)).isFalse();
+        }
+    }
+
+    @Test
+    void storesEachPointAsAFewVarintBytes() throws IOException {
+        Path file = dir.resolve("history.bin");
+        try (PriceHistoryStore store = PriceHistoryStore.open(file)) {
+            for (int month = 0; month < 60; month++) {
+                store.append(GOL, 260 + month, 5_000_000L - month * 15_000L);
+            }
+        }
+
+        // After the first point, each month is a tag, the series id, a one-month step and a -R$ 150,00 delta.
+        long header = 9;
+        long series = 1 + 1 + 3 + 5 + 7;
+        long firstPoint = 1 + 1 + 2 + 4;
+        assertThat(Files.size(file)).isEqualTo(header + series + firstPoint + 59 * (1 + 1 + 1 + 3));
+    }
+
+    @Test
+    void boundsTrajectoriesByReferenceCode() throws IOException {
+        try (PriceHistoryStore store = PriceHistoryStore.open(dir.resolve("history.bin"))) {
+            for (int reference = 300; reference <= 310; reference++) {
+                store.append(GOL, reference, 1_000_000L + reference);
+            }
+
+            assertThat(store.trajectory(GOL, 303, 305))
+                    .extracting(PricePoint::referenceCode)
+                    .containsExactly(303, 304, 305);
+            assertThat(store.trajectory(GOL, 311, 400)).isEmpty();
+            assertThat(store.trajectory(UNO, 0, 400)).isEmpty();
+        }
+    }
+
+    @Test
+    void ranksTheLargestRelativeDrops() throws IOException {
+        try (PriceHistoryStore store = PriceHistoryStore.open(dir.resolve("history.bin"))) {
+            store.append(GOL, 300, 4_000_000L);
+            store.append(GOL, 310, 3_000_000L);
+            store.append(AMAROK, 300, 20_000_000L);
+            store.append(AMAROK, 305, 10_000_000L);
+            store.append(AMAROK, 310, 18_000_000L);
+            store.append(UNO, 300, 2_000_000L);
+            store.append(UNO, 310, 1_000_000L);
+
+            List<Depreciation> top = store.topDepreciators(2, 300, 310);
+            assertThat(top).extracting(Depreciation::key).containsExactly(UNO, GOL);
+            assertThat(top.get(0).lossCentavos()).isEqualTo(1_000_000L);
+            assertThat(top.get(0).lossRatio()).isEqualTo(0.5);
+
+            assertThat(store.topDepreciators(3, 300, 305))
+                    .as("only AMAROK has two points in the window")
+                    .extracting(Depreciation::key)
+                    .containsExactly(AMAROK);
+            assertThat(store.topDepreciators(0, 300, 310)).isEmpty();
+        }
+    }
+
+    @Test
+    void truncatesATornRecordAndKeepsAppending() throws IOException {
+        Path file = dir.resolve("history.bin");
+        try (PriceHistoryStore store = PriceHistoryStore.open(file)) {
+            store.append(GOL, 320, 3_512_300L);
+        }
+        long intact = Files.size(file);
+        // A point record cut off inside its price varint.
+        Files.write(file, new byte[] {3, 0, 2, (byte) 0x80}, StandardOpenOption.APPEND);
+
+        try (PriceHistoryStore store = PriceHistoryStore.open(file)) {
+            assertThat(Files.size(file)).isEqualTo(intact);
+            assertThat(store.trajectory(GOL, 0, 400)).hasSize(1);
+            store.append(GOL, 321, 3_400_000L);
+        }
+
+        try (PriceHistoryStore store = PriceHistoryStore.open(file)) {
+            assertThat(store.trajectory(GOL, 0, 400))
+                    .extracting(PricePoint::priceCentavos)
+                    .containsExactly(3_512_300L, 3_400_000L);
+        }
+    }
+
+    @Test
+    void remembersUnavailablePoints() throws IOException {
+        Path file = dir.resolve("history.bin");
+        try (PriceHistoryStore store = PriceHistoryStore.open(file)) {
+            store.append(GOL, 320, 3_512_300L);
+            store.markUnavailable(GOL, 300);
+            store.markUnavailable(UNO, 320);
+            store.markUnavailable(UNO, 320);
+        }
+
+        try (PriceHistoryStore store = PriceHistoryStore.open(file)) {
+            assertThat(store.isUnavailable(GOL, 300)).isTrue();
+            assertThat(store.isUnavailable(UNO, 320)).isTrue();
+            assertThat(store.isUnavailable(GOL, 320)).isFalse();
+            assertThat(store.contains(UNO, 320)).isFalse();
+            assertThat(store.trajectory(GOL, 0, 400)).hasSize(1);
+        }
+    }
+}
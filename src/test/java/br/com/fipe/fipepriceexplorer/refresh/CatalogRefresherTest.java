@@ -0,0 +1,218 @@
+package br.com.fipe.fipepriceexplorer.refresh;
+
+import br.com.fipe.fipepriceexplorer.cache.TieredResponseCache;
+import br.com.fipe.fipepriceexplorer.client.FipeClient;
+import br.com.fipe.fipepriceexplorer.client.PriceWarmCache;
+import br.com.fipe.fipepriceexplorer.client.SingleFlight;
+import br.com.fipe.fipepriceexplorer.crawler.CatalogPriceRecord;
+import br.com.fipe.fipepriceexplorer.metrics.FipeMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogRefresherTest {
+
+    private static final String OCTOBER = "{\"code\":\"321\",\"month\":\"outubro de 2026\"}";
+    private static final String NOVEMBER = "{\"code\":\"322\",\"month\":\"novembro de 2026\"}";
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final FakeFipeApi api = new FakeFipeApi();
+
+    @TempDir
+    Path dir;
+
+    private Path catalog;
+    private Path manifest;
+    private CatalogRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        catalog = dir.resolve("catalog.jsonl");
+        manifest = dir.resolve("catalog.manifest.json");
+
+        api.lists.put("/references", "[" + OCTOBER + "]");
+        api.lists.put("/cars/brands", "[{\"code\":\"59\",\"name\":\"VW - VolksWagen\"}]");
+        api.lists.put("/cars/brands/59/years",
+                "[{\"code\":\"2014-1\",\"name\":\"2014 Gasolina\"},{\"code\":\"2015-1\",\"name\":\"2015 Gasolina\"}]");
+        api.lists.put("/cars/brands/59/years/2014-1/models",
+                "[{\"code\":\"5940\",\"name\":\"Gol 1.0\"},{\"code\":\"5941\",\"name\":\"Polo 1.0\"}]");
+        api.lists.put("/cars/brands/59/years/2015-1/models", "[{\"code\":\"5940\",\"name\":\"Gol 1.0\"}]");
+
+        FipeClient fipeClient = new FipeClient(
+                WebClient.builder().baseUrl("http://fipe.test").exchangeFunction(api::exchange).build(),
+                new TieredResponseCache(jsonMapper, false, Duration.ofHours(1), DataSize.ofMegabytes(1), ""),
+                new SingleFlight(),
+                new FipeMetrics(new SimpleMeterRegistry()),
+                new PriceWarmCache(0, Duration.ZERO));
+        refresher = new CatalogRefresher(fipeClient, jsonMapper, 4);
+    }
+
+    @Test
+    void firstRefreshPricesEveryListedVehicle() throws IOException {
+        RefreshSummary summary = refresh(false);
+
+        assertThat(summary.upToDate()).isFalse();
+        assertThat(summary.listsChecked()).isEqualTo(4);
+        assertThat(summary.listsChanged()).isEqualTo(4);
+        assertThat(summary.pricesFetched()).isEqualTo(3);
+        assertThat(catalogRows()).containsOnlyKeys("59/5940/2014-1", "59/5940/2015-1", "59/5941/2014-1")
+                .allSatisfy((key, record) -> assertThat(record.referenceMonth()).isEqualTo("outubro de 2026"));
+        assertThat(CatalogManifest.load(jsonMapper, manifest).referenceCode()).isEqualTo(321);
+    }
+
+    @Test
+    void skipsTheWalkWhileTheMonthIsUnchanged() throws IOException {
+        refresh(false);
+        api.requests.clear();
+
+        RefreshSummary summary = refresh(false);
+
+        assertThat(summary.upToDate()).isTrue();
+        assertThat(api.requests).containsExactly("/references");
+    }
+
+    @Test
+    void pricesOnlyThePairsOfAChangedList() throws IOException {
+        refresh(false);
+        api.lists.put("/cars/brands/59/years/2014-1/models",
+                "[{\"code\":\"5940\",\"name\":\"Gol 1.0\"},{\"code\":\"5942\",\"name\":\"Virtus 1.0\"}]");
+        api.requests.clear();
+
+        RefreshSummary summary = refresh(true);
+
+        assertThat(summary.listsNotModified()).isEqualTo(3);
+        assertThat(summary.listsChanged()).isEqualTo(1);
+        assertThat(summary.pricesFetched()).isEqualTo(1);
+        assertThat(summary.pricesKept()).isEqualTo(2);
+        assertThat(summary.pricesRemoved()).isEqualTo(1);
+        assertThat(api.priceRequests())
+                .containsExactly("/cars/brands/59/models/5942/years/2014-1?reference=321");
+        assertThat(catalogRows()).containsOnlyKeys("59/5940/2014-1", "59/5940/2015-1", "59/5942/2014-1");
+    }
+
+    @Test
+    void repricesEveryVehicleForTheNewMonth() throws IOException {
+        refresh(false);
+        api.lists.put("/references", "[" + OCTOBER + "," + NOVEMBER + "]");
+        api.requests.clear();
+
+        RefreshSummary summary = refresh(false);
+
+        assertThat(summary.listsNotModified()).isEqualTo(4);
+        assertThat(summary.pricesFetched()).isEqualTo(3);
+        assertThat(api.priceRequests()).hasSize(3).allSatisfy(uri -> assertThat(uri).endsWith("?reference=322"));
+        assertThat(catalogRows().values())
+                .extracting(CatalogPriceRecord::referenceMonth)
+                .containsOnly("novembro de 2026");
+        assertThat(CatalogManifest.load(jsonMapper, manifest).referenceCode()).isEqualTo(322);
+    }
+
+    @Test
+    void keepsAFailedRowAndRetriesItOnTheNextRun() throws IOException {
+        refresh(false);
+        api.lists.put("/references", "[" + OCTOBER + "," + NOVEMBER + "]");
+        api.failingPrices.add("5941");
+
+        RefreshSummary failed = refresh(false);
+
+        assertThat(failed.pricesFetched()).isEqualTo(2);
+        assertThat(failed.pricesFailed()).isEqualTo(1);
+        assertThat(catalogRows().get("59/5941/2014-1").referenceMonth()).isEqualTo("outubro de 2026");
+        assertThat(CatalogManifest.load(jsonMapper, manifest).referenceCode()).isEqualTo(321);
+
+        api.failingPrices.clear();
+        api.requests.clear();
+        RefreshSummary retried = refresh(false);
+
+        assertThat(retried.pricesFetched()).isEqualTo(1);
+        assertThat(api.priceRequests())
+                .containsExactly("/cars/brands/59/models/5941/years/2014-1?reference=322");
+        assertThat(catalogRows().get("59/5941/2014-1").referenceMonth()).isEqualTo("novembro de 2026");
+        assertThat(CatalogManifest.load(jsonMapper, manifest).referenceCode()).isEqualTo(322);
+    }
+
+    private RefreshSummary refresh(boolean force) {
+        return refresher.refresh(catalog, manifest, force, priced -> {});
+    }
+
+    private Map<String, CatalogPriceRecord> catalogRows() throws IOException {
+        Map<String, CatalogPriceRecord> rows = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(catalog)) {
+            CatalogPriceRecord record = jsonMapper.readValue(line, CatalogPriceRecord.class);
+            rows.put(record.key(), record);
+        }
+        return rows;
+    }
+
+    /** Serves list bodies with content-derived ETags and prices for the reference asked for. */
+    private static class FakeFipeApi {
+        private final Map<String, String> lists = new ConcurrentHashMap<>();
+        private final Set<String> failingPrices = ConcurrentHashMap.newKeySet();
+        private final List<String> requests = new CopyOnWriteArrayList<>();
+
+        Mono<ClientResponse> exchange(ClientRequest request) {
+            String path = request.url().getPath();
+            String query = request.url().getQuery();
+            requests.add(query == null ? path : path + "?" + query);
+
+            String[] segments = path.split("/");
+            if (segments.length == 8 && "models".equals(segments[4])) {
+                return Mono.just(price(segments[3], segments[5], segments[7], query.substring("reference=".length())));
+            }
+
+            String body = lists.get(path);
+            if (body == null) {
+                return Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+            }
+            String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+            if (request.headers().getIfNoneMatch().contains(etag)) {
+                return Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, etag).build());
+            }
+            return Mono.just(json(body).header(HttpHeaders.ETAG, etag).build());
+        }
+
+        List<String> priceRequests() {
+            return requests.stream().filter(uri -> uri.contains("?reference=")).collect(Collectors.toCollection(ArrayList::new));
+        }
+
+        private ClientResponse price(String brandCode, String modelCode, String yearCode, String reference) {
+            if (failingPrices.contains(modelCode)) {
+                return ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }
+            String month = "322".equals(reference) ? "novembro de 2026" : "outubro de 2026";
+            return json("{\"brand\":\"" + brandCode + "\",\"model\":\"" + modelCode + "\",\"modelYear\":"
+                    + yearCode.substring(0, 4) + ",\"fuel\":\"Gasolina\",\"price\":\"R$ 35.123,00\","
+                    + "\"referenceMonth\":\"" + month + "\"}").build();
+        }
+
+        private static ClientResponse.Builder json(String body) {
+            return ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                    .body(body);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.fipe.fipepriceexplorer.snapshot;
+
+import br.com.fipe.fipepriceexplorer.crawler.CatalogPriceRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceSnapshotTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final PriceSnapshotWriter writer = new PriceSnapshotWriter(jsonMapper);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsRowsAndDictionaries() throws IOException {
+        Path catalog = catalog(
+                record("59", "VW - VolksWagen", "5940", "Gol 1.0", 2014, "Gasolina", 3_512_300L, "outubro de 2026"),
+                record("59", "VW - VolksWagen", "5941", "Amarok 2.0", 2020, "Diesel", 17_890_050L, "outubro de 2026"),
+                record("21", "Fiat", "4828", "Uno Mille", 2010, "Gasolina", 1_800_000L, "outubro de 2026"));
+        Files.writeString(catalog, Files.readString(catalog) + "{\"brandCode\":\"21\",\"bra");
+        Path file = dir.resolve("prices.snapshot");
+
+        assertThat(writer.writeFromCatalog(catalog, file)).isEqualTo(3);
+
+        try (PriceSnapshot snapshot = PriceSnapshot.open(file)) {
+            assertThat(snapshot.rowCount()).isEqualTo(3);
+            assertThat(snapshot.referenceMonth()).isEqualTo("outubro de 2026");
+            assertThat(snapshot.brandCount()).isEqualTo(2);
+            assertThat(snapshot.modelCount()).isEqualTo(3);
+            assertThat(snapshot.fuelCount()).isEqualTo(2);
+
+            assertThat(snapshot.brandName(snapshot.brandId(1))).isEqualTo("VW - VolksWagen");
+            assertThat(snapshot.brandCode(snapshot.brandId(2))).isEqualTo(21);
+            assertThat(snapshot.modelCode(snapshot.modelId(1))).isEqualTo(5941);
+            assertThat(snapshot.modelName(snapshot.modelId(1))).isEqualTo("Amarok 2.0");
+            assertThat(snapshot.modelYear(1)).isEqualTo(2020);
+            assertThat(snapshot.fuelName(snapshot.fuelId(1))).isEqualTo("Diesel");
+            assertThat(snapshot.priceCentavos(1)).isEqualTo(17_890_050L);
+            assertThat(snapshot.findBrandId(21)).isEqualTo(snapshot.brandId(2));
+            assertThat(snapshot.findFuelId("gasolina")).isEqualTo(snapshot.fuelId(0));
+            assertThat(snapshot.findBrandId(99)).isEqualTo(-1);
+
+            List<Long> vwPrices = new ArrayList<>();
+            snapshot.forEachOfBrand(snapshot.findBrandId(59),
+                    (row, brandId, modelId, modelYear, fuelId, priceCentavos) -> vwPrices.add(priceCentavos));
+            assertThat(vwPrices).containsExactly(3_512_300L, 17_890_050L);
+        }
+    }
+
+    @Test
+    void labelsMixedReferenceMonthsUnlessOneIsGiven() throws IOException {
+        Path catalog = catalog(
+                record("59", "VW - VolksWagen", "5940", "Gol 1.0", 2014, "Gasolina", 3_512_300L, "setembro de 2026"),
+                record("21", "Fiat", "4828", "Uno Mille", 2010, "Gasolina", 1_800_000L, "outubro de 2026"));
+        Path mixed = dir.resolve("mixed.snapshot");
+        Path labelled = dir.resolve("labelled.snapshot");
+
+        writer.writeFromCatalog(catalog, mixed);
+        writer.writeFromCatalog(catalog, labelled, "outubro de 2026");
+
+        try (PriceSnapshot snapshot = PriceSnapshot.open(mixed)) {
+            assertThat(snapshot.referenceMonth()).isEqualTo("mixed: setembro de 2026, outubro de 2026");
+        }
+        try (PriceSnapshot snapshot = PriceSnapshot.open(labelled)) {
+            assertThat(snapshot.referenceMonth()).isEqualTo("outubro de 2026");
+        }
+    }
+
+    private Path catalog(CatalogPriceRecord... records) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (CatalogPriceRecord record : records) {
+            lines.append(jsonMapper.writeValueAsString(record)).append('\n');
+        }
+        return Files.writeString(dir.resolve("catalog.jsonl"), lines);
+    }
+
+    private static CatalogPriceRecord record(String brandCode, String brandName, String modelCode, String modelName,
+            int modelYear, String fuel, long priceCentavos, String referenceMonth) {
+        return new CatalogPriceRecord(brandCode, brandName, modelCode, modelName, modelYear + "-1",
+                modelYear + " " + fuel, modelYear, fuel, priceCentavos, referenceMonth);
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.fipe.fipepriceexplorer.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class FipePriceFormatTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "R$ 35.123,00     | 3512300",
+            "R$ 1.234.567,89  | 123456789",
+            "R$ 99,5          | 9950",
+            "R$ 12.000        | 1200000",
+            "R$ 10,999        | 1099",
+            "'R$ 0,07'        | 7"
+    })
+    void parsesTheSameFromTextAndFromACharWindow(String price, long centavos) {
+        char[] buffer = ("\"" + price + "\",").toCharArray();
+
+        assertThat(FipePriceFormat.parseCentavos(price)).isEqualTo(centavos);
+        assertThat(FipePriceFormat.parseCentavos(buffer, 1, price.length())).isEqualTo(centavos);
+    }
+
+    @Test
+    void rejectsAPriceWithoutDigits() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> FipePriceFormat.parseCentavos("R$ -"))
+                .withMessage("Invalid FIPE price: 'R$ -'.");
+        char[] buffer = "xxR$ ,yy".toCharArray();
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> FipePriceFormat.parseCentavos(buffer, 2, 4))
+                .withMessage("Invalid FIPE price: 'R$ ,'.");
+    }
+
+    @Test
+    void formatsCentavosWithThousandsSeparators() {
+        assertThat(FipePriceFormat.format(3_512_300L)).isEqualTo("R$ 35.123,00");
+        assertThat(FipePriceFormat.format(123_456_789L)).isEqualTo("R$ 1.234.567,89");
+        assertThat(FipePriceFormat.format(7L)).isEqualTo("R$ 0,07");
+        assertThat(FipePriceFormat.format(-150_000L)).isEqualTo("-R$ 1.500,00");
+    }
+}